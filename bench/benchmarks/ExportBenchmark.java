@@ -0,0 +1,98 @@
+package benchmarks;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.TexturePaint;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import tiles.BandRenderer;
+import tiles.TileRenderer;
+import tiles.TileType;
+import tiles.TilingExporter;
+import tiles.WangGenerator;
+
+/*
+Benchmarks of the PNG export of a 4000x3000 tiling: the serial TilingExporter and the BandRenderer with a growing number
+of threads and with supersampling, to check that export time scales with the number of cores.
+wideWangExport renders a non-periodic Wang tiling on a canvas so wide that bands are shorter than a cell, so that
+concurrent bands share rows of the generator; it fails if rows are not shared correctly.
+Output is discarded, so that disk speed is not measured.
+*/
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExportBenchmark {
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    @Param({"1", "2"})
+    public int supersampling;
+
+    private static final int WIDTH = 4000, HEIGHT = 3000, SIZE = 150;
+    private static final int WIDE_WIDTH = 200000, WIDE_HEIGHT = 100;
+    private static final double WANG_CELL = 16;
+    private int[] tile;
+    private BandRenderer.Painter painter;
+
+    private static final OutputStream NULL = new OutputStream() {
+        @Override public void write(int b) { }
+        @Override public void write(byte[] b, int off, int len) { }
+    };
+
+    @Setup
+    public void setup() {
+        tile = TileRenderer.renderTile(TileType.IPATTERN1, TilesBenchmark.colors, SIZE).getRGB(0, 0, SIZE, SIZE, null, 0, SIZE);
+        BufferedImage image = TileRenderer.renderTile(TileType.IPATTERN1, TilesBenchmark.colors, SIZE * supersampling);
+        painter = g2d -> {
+            g2d.setPaint(new TexturePaint(image, new Rectangle2D.Double(0, 0, SIZE, SIZE)));
+            g2d.fill(g2d.getClipBounds());
+        };
+    }
+
+    @Benchmark
+    public void serialExport() throws IOException {
+        TilingExporter.writePng(NULL, tile, SIZE, WIDTH, HEIGHT, null);
+    }
+
+    @Benchmark
+    public void bandExport() throws IOException {
+        new BandRenderer(WIDTH, HEIGHT, supersampling, threads).writePng(NULL, painter, null);
+    }
+
+    @Benchmark
+    public void wideWangExport() throws IOException {
+        WangGenerator generator = WangGenerator.complete(2, (int) Math.ceil(WIDE_WIDTH / WANG_CELL), 0);
+        new BandRenderer(WIDE_WIDTH, WIDE_HEIGHT, supersampling, threads).writePng(NULL, generator.painter(TilesBenchmark.colors, WANG_CELL), null);
+    }
+}
@@ -0,0 +1,81 @@
+package benchmarks;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import tools.ArcAction;
+import tools.BoundaryMask;
+import tools.DrawingAction;
+import tools.LineAction;
+
+/*
+Flood fill of the user mode on a tile with random lines and arcs.
+*/
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FloodFillBenchmark {
+
+    @Param({"40", "150", "400", "4000"})
+    public int size;
+
+    @Param({"0", "20", "200"})
+    public int boundaries;
+
+    private BoundaryMask boundaryMask;
+    private int startX, startY;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        List<DrawingAction> actions = new ArrayList<>();
+        for (int i = 0; i < boundaries; i++) {
+            Point p1 = new Point(random.nextInt(size), random.nextInt(size));
+            Point p2 = new Point(random.nextInt(size), random.nextInt(size));
+            actions.add(i % 2 == 0 ? new LineAction(p1, p2, Color.BLACK) : new ArcAction(p1, p2, Color.BLACK));
+        }
+        boundaryMask = new BoundaryMask(size);
+        boundaryMask.rebuild(actions);
+
+        startX = size / 2; startY = size / 2;
+        while (boundaryMask.isBoundary(startX, startY))
+            startX = (startX + 1) % size;
+    }
+
+    @Benchmark
+    public int[] floodFill() {
+        return boundaryMask.floodFill(startX, startY);
+    }
+}
@@ -0,0 +1,100 @@
+package benchmarks;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.TexturePaint;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import tiles.PaletteRaster;
+import tiles.TileRenderer;
+import tiles.TileType;
+
+/*
+Benchmarks of the paint path of the application: the body of TilingPanel.updateCache (render the tile and wrap it in a
+TexturePaint), the fill of a full panel with the TexturePaint and the recoloring of a palette-indexed raster after a
+change of colors.
+TilingPanel itself needs a display, so the benchmarks run the same code on off-screen images.
+*/
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PaintBenchmark {
+
+    @Param({"GREEK", "IPATTERN3", "VORONOI", "HLBRTFRCTL", "POLYGONFRCTL"})
+    public String type;
+
+    @Param({"40", "150", "400"})
+    public int size;
+
+    private TileType tileType;
+    private TexturePaint tilingPaint;
+    private BufferedImage panel;
+    private BufferedImage raster;
+    private Graphics2D panelGraphics;
+
+    @Setup
+    public void setup() {
+        tileType = TileType.valueOf(type);
+        tilingPaint = updateCache();
+        if (PaletteRaster.isSupported(tileType))
+            raster = PaletteRaster.render(tileType, size);
+        panel = new BufferedImage(1000, 720, BufferedImage.TYPE_INT_RGB);
+        panelGraphics = panel.createGraphics();
+        panelGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        panelGraphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+    }
+
+    @TearDown
+    public void tearDown() {
+        panelGraphics.dispose();
+    }
+
+    @Benchmark
+    public TexturePaint updateCache() {
+        BufferedImage cachedTile = TileRenderer.renderTile(tileType, TilesBenchmark.colors, size);
+        return new TexturePaint(cachedTile, new Rectangle2D.Double(0, 0, size, size));
+    }
+
+    @Benchmark
+    public BufferedImage texturePaintFill() {
+        panelGraphics.setPaint(tilingPaint);
+        panelGraphics.fillRect(0, 0, panel.getWidth(), panel.getHeight());
+        return panel;
+    }
+
+    @Benchmark
+    public BufferedImage recolor() {
+        return raster == null ? null : PaletteRaster.recolor(raster, TilesBenchmark.colors); // null for VORONOI
+    }
+}
@@ -0,0 +1,90 @@
+package benchmarks;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import tiles.TileRenderer;
+import tiles.TileType;
+
+/*
+Throughput of every tile drawing method of class 'Tiles', through the dispatch of TileRenderer, at several tile sizes.
+*/
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TilesBenchmark {
+
+    @Param({"GREEK", "IPATTERN1", "IPATTERN2", "IPATTERN3", "INTERLOCK", "OCTAGRAM1", "OCTAGRAM2", "OCTAGON", "OCTAGON2",
+        "SQUARES", "TARTAN", "CROSSED", "INTERLACED", "LABYRINTH", "TRUCHET2", "TRUCHET3", "TRUCHET4", "WANG", "VORONOI",
+        "VORONOI_CELLS", "BLCKFRCTL", "HLBRTFRCTL", "MOORECURVE", "PEANOCURVE", "POLYGONFRCTL", "GRIDSQRCIRCLE", "DOTTEDGRID", "SQRSPIRAL", "SPIDERWEB", "CHECKERED"})
+    public String type;
+
+    @Param({"40", "150", "400", "4000"})
+    public int size;
+
+    private TileType tileType;
+    private BufferedImage image;
+    private Graphics2D g2d;
+    private int[] pixels;
+
+    static final Color[] colors = {new Color(255, 180, 0), new Color(0, 20, 60), Color.WHITE, new Color(0, 200, 210)};
+
+    @Setup
+    public void setup() {
+        tileType = TileType.valueOf(type);
+        image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        pixels = new int[size * size];
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2d.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage drawTile() {
+        TileRenderer.drawTile(tileType, g2d, colors, 0, 0, size);
+        g2d.setClip(null); // some tiles leave a clip on the graphics
+        return image;
+    }
+
+    @Benchmark // int[] path, with PixelKernels for the rectilinear tiles
+    public int[] renderPixels() {
+        TileRenderer.renderTile(tileType, colors, size, pixels, 0, size);
+        return pixels;
+    }
+}
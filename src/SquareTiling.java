@@ -23,17 +23,27 @@ DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
 */
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import javax.imageio.ImageIO;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import tiles.*;
 import tools.*;
@@ -47,39 +57,6 @@ import tools.*;
  */
 public class SquareTiling extends JFrame {
 
-    enum TileType {
-        USER_MODE("User Mode"),
-        GREEK("Greek Pattern"),
-        IPATTERN1("Layered Islamic Star"),
-        IPATTERN2("Quartered Islamic Star"),
-        IPATTERN3("Eightfold Islamic Star"),
-        INTERLOCK("Interlocking Squares"),
-        OCTAGRAM1("Large Octagram"),
-        OCTAGRAM2("Narrow Octagram"),
-        OCTAGON("Octagons & Squares"),
-        OCTAGON2("Octagon & Rhombus"),
-        SQUARES("Squares and Rhombus"),
-        TARTAN("Tartan"),
-        CROSSED("Crossed Square"),
-        INTERLACED("Interlaced Circles"),
-        LABYRINTH("Labyrinth  pattern"),
-        TRUCHET2("Truchet pattern #2"),
-        TRUCHET3("Truchet pattern #3"),
-        TRUCHET4("Truchet pattern #4"),
-        WANG("Wang tiling"),
-        VORONOI("Voronoi tiling"),
-        BLCKFRCTL("Block Fractal"),
-        HLBRTFRCTL("Hilbert Fractal"),
-        POLYGONFRCTL("Polygon Fractal"),
-        GRIDSQRCIRCLE("Grid Squares & Circles"),
-        DOTTEDGRID("Dotted grid"),
-        SQRSPIRAL("Square Spiral"),
-        SPIDERWEB("Spider Web"),
-        CHECKERED("Checkered");
-
-        final String title;
-        TileType(String title) { this.title = title; }
-    }
     private TileType currentType = TileType.GREEK;
 
     private static int tileSize = 150;
@@ -91,6 +68,17 @@ public class SquareTiling extends JFrame {
     private Color fillColor = colors[0];
     private final Color colorUserGrid = Color.GRAY;
 
+    private final TileCache tileCache = new TileCache(64L << 20, DiskTileCache.openDefault());
+    private final RenderScheduler renderScheduler = new RenderScheduler(this::getCachedTile, Math.max(1, Runtime.getRuntime().availableProcessors() - 1), 8);
+    private static final int PREFETCH_SIZES = 4; // sizes prerendered in the direction of the slider
+    private static final double MIN_ZOOM = 1 / 64.0, MAX_ZOOM = 8; // zoom range of the viewport
+    private static final ExecutorService thumbnailExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+        Thread thread = new Thread(r, "thumbnail-renderer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long userRevision = 0; // incremented on every change of the drawing history
+
     enum EditorMode {
         LINE, ARC, FILL
     }
@@ -112,6 +100,8 @@ public class SquareTiling extends JFrame {
 
     // User Drawing Data
     private final List<DrawingAction> actionHistory = new ArrayList<>();
+    private BoundaryMask boundaryMask;
+    private UserTileRenderer userTileRenderer;
     private Point dragStart = null;
     private Point currentEndPoint = null;
     private Point arcIntermediatePoint = null;
@@ -123,6 +113,15 @@ public class SquareTiling extends JFrame {
         setLocationRelativeTo(null);
 
         tilingPanel = new TilingPanel();
+        RenderMetrics.register(tileCache);
+        getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "toggleHud");
+        getRootPane().getActionMap().put("toggleHud", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                tilingPanel.showHud = !tilingPanel.showHud;
+                tilingPanel.repaint();
+            }
+        });
 
         JPanel topPanel = new JPanel();
         topPanel.setBackground(Color.DARK_GRAY);
@@ -152,6 +151,9 @@ public class SquareTiling extends JFrame {
         JButton saveBtn = new JButton("Save Image");
         saveBtn.addActionListener(e -> saveImage());
 
+        JButton exportBtn = new JButton("Export...");
+        exportBtn.addActionListener(e -> exportTiling());
+
         galleryBtn = new JButton("Gallery");
         galleryBtn.addActionListener(e -> showGallery(typeCombo));
 
@@ -159,6 +161,7 @@ public class SquareTiling extends JFrame {
         topPanel.add(showTileBtn);
         topPanel.add(Box.createHorizontalStrut(20));
         topPanel.add(saveBtn);
+        topPanel.add(exportBtn);
 
         lineBtn = createIconButton("ic_line.png", e -> {
             editorMode = EditorMode.LINE;
@@ -180,14 +183,17 @@ public class SquareTiling extends JFrame {
         });
         backBtn = createIconButton("ic_back.png", e -> {
             if (!actionHistory.isEmpty()) {
-                actionHistory.remove(actionHistory.size() - 1);
-                tilingPanel.clearCache();
+                DrawingAction removed = actionHistory.remove(actionHistory.size() - 1);
+                if (!(removed instanceof FillAction))
+                    getBoundaryMask().rebuild(actionHistory);
+                historyChanged(actionHistory.size());
                 repaint();
             }
         });
         deleteBtn = createIconButton("ic_delete.png", e -> {
             actionHistory.clear();
-            tilingPanel.clearCache();
+            getBoundaryMask().rebuild(actionHistory);
+            historyChanged(0);
             repaint();
         });
         userBtn = new JButton("User Mode");
@@ -304,24 +310,13 @@ public class SquareTiling extends JFrame {
         gridPanel.setBackground(Color.DARK_GRAY);
         gridPanel.setBorder(new EmptyBorder(20, 20, 20, 20));
 
+        Color[] palette = colors.clone();
+        List<Thumbnail> thumbnails = new ArrayList<>();
         for (TileType type : TileType.values()) {
             if (type == TileType.USER_MODE && actionHistory.isEmpty()) continue;
 
-            JPanel tilePreview = new JPanel() {
-                @Override
-                protected void paintComponent(Graphics g) {
-                    super.paintComponent(g);
-                    Graphics2D g2d = (Graphics2D) g;
-                    g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                    int size = Math.min(getWidth(), getHeight());
-
-                    drawTile(type, g2d, 0, 0, size);
-
-                    g2d.setColor(Color.GREEN);
-                    g2d.drawString(type.title, 10, 20);
-                }
-            };
+            Thumbnail tilePreview = new Thumbnail(type, palette);
+            thumbnails.add(tilePreview);
             tilePreview.addMouseListener(new MouseAdapter() {
                 @Override
                 public void mouseClicked(MouseEvent me) {
@@ -348,19 +343,92 @@ public class SquareTiling extends JFrame {
             gridPanel.add(tilePreview);
         }
 
-        galleryDialog.add(new JScrollPane(gridPanel));
+        JScrollPane scrollPane = new JScrollPane(gridPanel);
+        scrollPane.getViewport().addChangeListener(e -> { // renders the thumbnails in or near the viewport
+            Rectangle view = scrollPane.getViewport().getViewRect();
+            view.grow(0, tileSize);
+            for (Thumbnail thumbnail : thumbnails)
+                if (thumbnail.getBounds().intersects(view)) thumbnail.request();
+        });
+        galleryDialog.add(scrollPane);
         galleryDialog.setVisible(true);
+        for (Thumbnail thumbnail : thumbnails)
+            thumbnail.cancel();
+    }
+
+    // gallery thumbnail, rendered once in background and painted by blitting the image
+    class Thumbnail extends JPanel {
+        private final TileType type;
+        private final Color[] palette;
+        private BufferedImage image;
+        private int requestedSize;
+        private CompletableFuture<BufferedImage> future;
+
+        Thumbnail(TileType type, Color[] palette) {
+            this.type = type;
+            this.palette = palette;
+        }
+
+        void request() {
+            int size = Math.min(getWidth(), getHeight());
+            if (size <= 0 || size == requestedSize) return;
+            requestedSize = size;
+            cancel();
+            if (type == TileType.USER_MODE) { // user tile depends on the drawing history, rendered on the EDT
+                image = getCachedTile(type, palette, size);
+                repaint();
+                return;
+            }
+            future = CompletableFuture.supplyAsync(() -> getCachedTile(type, palette, size), thumbnailExecutor);
+            future.thenAccept(tile -> SwingUtilities.invokeLater(() -> {
+                if (size == requestedSize) {
+                    image = tile;
+                    repaint();
+                }
+            }));
+        }
+
+        void cancel() {
+            if (future != null) future.cancel(false);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            request();
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            if (image != null) g2d.drawImage(image, 0, 0, null);
+
+            g2d.setColor(Color.GREEN);
+            g2d.drawString(type.title, 10, 20);
+        }
     }
 
     class TilingPanel extends JPanel {
         private BufferedImage cachedTile;
         private TexturePaint tilingPaint;
+        private boolean preview; // cachedTile is a low resolution preview while the full tile is rendered in background
+        private int generation; // incremented by clearCache, renders of older generations are stale
+        private CompletableFuture<BufferedImage> pendingRender, pendingPreview;
+        private TileType cachedType; // type of cachedTile
+        private BufferedImage staleTile; // last tile shown, scaled to the new size until the new tile of the same type is rendered
+        private TileType staleType;
+        private int lastSize = tileSize;
+        private double zoom = 1, panX, panY; // viewport of patterns other than user mode: screen = pan + zoom * canvas
+        private MipPyramid pyramid; // levels of cachedTile for zoomed views, built on demand
+        private Point panStart;
+        private boolean showHud; // overlay with frame and render times, toggled by F3
 
         public TilingPanel() {
             setBackground(Color.BLACK);
             MouseAdapter ma = new MouseAdapter() {
                 @Override
                 public void mousePressed(MouseEvent e) {
+                    if (currentType != TileType.USER_MODE && SwingUtilities.isLeftMouseButton(e)) {
+                        panStart = e.getPoint();
+                        return;
+                    }
                     if (currentType != TileType.USER_MODE || !SwingUtilities.isLeftMouseButton(e)) return;
                     Point p = new Point(e.getX() % tileSize, e.getY() % tileSize);
                     if (editorMode == EditorMode.FILL)
@@ -371,24 +439,33 @@ public class SquareTiling extends JFrame {
                 }
                 @Override
                 public void mouseDragged(MouseEvent e) {
-                    if (currentType == TileType.USER_MODE && editorMode != EditorMode.FILL && dragStart != null) {
+                    if (panStart != null) {
+                        panX += e.getX() - panStart.x;
+                        panY += e.getY() - panStart.y;
+                        panStart = e.getPoint();
+                        repaint();
+                    } else if (currentType == TileType.USER_MODE && editorMode != EditorMode.FILL && dragStart != null) {
                         currentEndPoint = new Point(e.getX() % tileSize, e.getY() % tileSize);
                         repaint();
                     }
                 }
                 @Override
                 public void mouseReleased(MouseEvent e) {
+                    panStart = null;
                     if (currentType == TileType.USER_MODE && editorMode != EditorMode.FILL) {
                         Point p = new Point(e.getX() % tileSize, e.getY() % tileSize);
                         if (dragStart != null) {
                             if (p.distance(dragStart) > 2) {
+                                DrawingAction action;
                                 if (editorMode == EditorMode.LINE)
-                                    actionHistory.add(new LineAction(dragStart, p, boundaryColor));
+                                    action = new LineAction(dragStart, p, boundaryColor);
                                 else {//editorMode == EditorMode.ARC
-                                    actionHistory.add(new ArcAction(dragStart, p, boundaryColor));
+                                    action = new ArcAction(dragStart, p, boundaryColor);
 //                                  tilingPanel.setCursor(Cursor.getPredefinedCursor(Cursor.CROSSHAIR_CURSOR));
                                 }
-                                clearCache();
+                                actionHistory.add(action);
+                                getBoundaryMask().add(action);
+                                historyChanged(actionHistory.size());
                             }
                             dragStart = null; currentEndPoint = null;
                             repaint();
@@ -396,16 +473,34 @@ public class SquareTiling extends JFrame {
                             if (waitingIntermediatePoint()) {
                                 DrawingAction lastAction = actionHistory.get(actionHistory.size() - 1);
                                 ((ArcAction)lastAction).setIntermediatePoint(p);
-                                clearCache();
+                                getBoundaryMask().rebuild(actionHistory);
+                                historyChanged(actionHistory.size() - 1);
 //                              tilingPanel.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
                                 repaint();
                             }
                         }
                     }
                 }
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    if (currentType != TileType.USER_MODE && e.getClickCount() == 2) { // back to 1:1
+                        zoom = 1; panX = 0; panY = 0;
+                        repaint();
+                    }
+                }
+                @Override
+                public void mouseWheelMoved(MouseWheelEvent e) {
+                    if (currentType == TileType.USER_MODE) return;
+                    double z = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * Math.pow(1.1, -e.getPreciseWheelRotation())));
+                    panX = e.getX() - (e.getX() - panX) * z / zoom; // the point under the mouse stays in place
+                    panY = e.getY() - (e.getY() - panY) * z / zoom;
+                    zoom = z;
+                    repaint();
+                }
             };
             addMouseListener(ma);
             addMouseMotionListener(ma);
+            addMouseWheelListener(ma);
         }
 
         private boolean waitingIntermediatePoint() {
@@ -417,47 +512,165 @@ public class SquareTiling extends JFrame {
         }
 
         private void performFill(Point p) {
-            BufferedImage buffer = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g = buffer.createGraphics();
-            drawUserTile(g, 0, 0, tileSize); // Draw current state to detect boundaries
-            g.dispose();
-
-            BufferedImage fillLayer = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_ARGB);
-            floodFill(fillLayer, buffer, p.x, p.y, fillColor);
-
-            actionHistory.add(new FillAction(fillLayer));
-            clearCache();
+            RenderEvents.FloodFill event = new RenderEvents.FloodFill();
+            event.begin();
+            long start = System.nanoTime();
+            int[] spans = getBoundaryMask().floodFill(p.x, p.y);
+            RenderMetrics.get().recordFloodFill(System.nanoTime() - start);
+            event.x = p.x;
+            event.y = p.y;
+            event.spans = spans.length / 3;
+            event.commit();
+            actionHistory.add(new FillAction(fillColor, spans));
+            historyChanged(actionHistory.size());
             repaint();
         }
 
+        // runs action on the EDT once the panel shows the full tile in place of a preview, or its render has failed
+        public void whenFullTile(Runnable action) {
+            if ((tilingPaint == null || preview) && pendingRender == null) updateCache();
+            if (pendingRender == null) {
+                action.run();
+                return;
+            }
+            CompletableFuture<BufferedImage> task = pendingRender;
+            int gen = generation;
+            task.whenComplete((tile, ex) -> SwingUtilities.invokeLater(() -> {
+                renderDone(task, gen); // no-op if already done by whenRendered
+                action.run();
+            }));
+        }
+
         public void clearCache() {
+            RenderMetrics.get().recordInvalidation();
+            RenderEvents.CacheInvalidation event = new RenderEvents.CacheInvalidation();
+            if (event.shouldCommit()) {
+                event.tileType = currentType.name();
+                event.size = tileSize;
+                event.commit();
+            }
+            generation++;
+            if (pendingRender != null) {
+                pendingRender.cancel(true);
+                pendingRender = null;
+            }
+            if (pendingPreview != null) {
+                pendingPreview.cancel(true);
+                pendingPreview = null;
+            }
+            if (cachedTile != null) {
+                staleTile = cachedTile;
+                staleType = cachedType;
+            }
             cachedTile = null;
             tilingPaint = null;
+            pyramid = null;
+            preview = false;
+        }
+
+        private void setTile(BufferedImage tile, boolean preview) {
+            cachedTile = tile;
+            cachedType = currentType;
+            this.preview = preview;
+            pyramid = null;
+            tilingPaint = new TexturePaint(cachedTile, new Rectangle2D.Double(0, 0, tileSize, tileSize));
         }
 
+        // never renders nor waits on the EDT: a tile not in the cache is shown as the stale tile, then as preview
+        // at a quarter of the size, both rendered by the scheduler
         private void updateCache() {
-            cachedTile = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2d = cachedTile.createGraphics();
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
-            drawTile(currentType, g2d, 0, 0, tileSize);
-            g2d.dispose();
+            if (currentType == TileType.USER_MODE) { // user tile depends on the drawing history, rendered on the EDT
+                setTile(getCachedTile(currentType, tileSize), false);
+                return;
+            }
+            TileType type = currentType;
+            int size = tileSize;
+            int gen = generation;
+            Color[] palette = colors.clone();
+            prefetch(type, palette, size);
+            BufferedImage tile = tileCache.peek(type, palette, size, 0);
+            if (tile != null) {
+                setTile(tile, false);
+                return;
+            }
+            int previewSize = Math.max(8, size / 4);
+            BufferedImage previewTile = tileCache.peek(type, palette, previewSize, 0);
+            if (previewTile != null) setTile(previewTile, true);
+            else { // submitted first, so that an idle worker starts with it
+                pendingPreview = renderScheduler.submitPreview(type, palette, previewSize);
+                whenRendered(pendingPreview, gen);
+                if (staleTile != null && staleType == type) setTile(staleTile, true);
+            }
+            pendingRender = renderScheduler.submit(type, palette, size);
+            whenRendered(pendingRender, gen);
+        }
 
-            tilingPaint = new TexturePaint(cachedTile, new Rectangle2D.Double(0, 0, tileSize, tileSize));
+        private void whenRendered(CompletableFuture<BufferedImage> task, int gen) {
+            task.whenComplete((tile, ex) -> {
+                if (!task.isCancelled()) SwingUtilities.invokeLater(() -> renderDone(task, gen));
+            });
+        }
+
+        // prerenders the next sizes along the step of the last slider move and the neighbouring patterns of the combo
+        private void prefetch(TileType type, Color[] palette, int size) {
+            int step = size - lastSize; // sizes actually reached by the slider, that skips values when dragged
+            lastSize = size;
+            TileType[] types = TileType.values();
+            for (int k : new int[]{-1, 1}) {
+                TileType neighbour = types[(type.ordinal() + k + types.length) % types.length];
+                if (neighbour != TileType.USER_MODE) renderScheduler.prefetch(neighbour, palette, size);
+            }
+            if (step == 0) return;
+            for (int k = PREFETCH_SIZES; k > 0; k--) { // nearest size is queued last, so it is rendered first
+                int s = size + step * k;
+                if (s >= sizeSlider.getMinimum() && s <= sizeSlider.getMaximum())
+                    renderScheduler.prefetch(type, palette, s);
+            }
+        }
+
+        private void renderDone(CompletableFuture<BufferedImage> task, int gen) {
+            if (gen != generation || task != pendingRender && task != pendingPreview) return; // stale
+            boolean full = task == pendingRender;
+            if (full) {
+                pendingRender = null;
+                if (pendingPreview != null) pendingPreview.cancel(true);
+            }
+            pendingPreview = null;
+            try {
+                setTile(task.join(), !full);
+            } catch (CompletionException ex) { // the tile shown is still a preview (or none), so the next paint retries
+                ex.getCause().printStackTrace();
+                return;
+            }
+            repaint();
         }
 
         @Override
         protected void paintComponent(Graphics g) {
+            long start = System.nanoTime();
             super.paintComponent(g);
-            if (tilingPaint == null) updateCache();
+            if ((tilingPaint == null || preview) && pendingRender == null) { // first paint, or the full render failed
+                updateCache();
+                RenderMetrics.get().recordUpdate(System.nanoTime() - start);
+            }
 
             Graphics2D g2d = (Graphics2D) g;
 
             g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
             g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
 
-            g2d.setPaint(tilingPaint);
-            g2d.fillRect(0, 0, getWidth(), getHeight());
+            if (tilingPaint == null) { // first tile still rendering, nothing to show yet
+                RenderMetrics.get().recordFrame(System.nanoTime() - start);
+                return;
+            }
+            if (currentType == TileType.USER_MODE || zoom == 1 && panX == 0 && panY == 0) {
+                g2d.setPaint(tilingPaint);
+                g2d.fillRect(0, 0, getWidth(), getHeight());
+            } else { // blit the pyramid level matching the zoom, as costly as the 1:1 view
+                if (pyramid == null) pyramid = new MipPyramid(cachedTile);
+                double displaySize = tileSize * zoom;
+                pyramid.fill(g2d, new Rectangle(0, 0, getWidth(), getHeight()), panX % displaySize, panY % displaySize, displaySize);
+            }
 
             if (currentType == TileType.USER_MODE && editorMode != EditorMode.FILL && dragStart != null && currentEndPoint != null) {
                 g2d.setColor(colors[1]);
@@ -469,75 +682,84 @@ public class SquareTiling extends JFrame {
                     }
                 }
             }
+            RenderMetrics.get().recordFrame(System.nanoTime() - start);
+            if (showHud) paintHud(g2d);
         }
-    }
 
-    private void floodFill(BufferedImage img, BufferedImage mask, int x, int y, Color fillCol) {
-        int fillRGB = fillCol.getRGB();
-        int boundaryRGB = boundaryColor.getRGB();
-        if (mask.getRGB(x, y) == boundaryRGB) return;
+        private void paintHud(Graphics2D g2d) {
+            RenderMetrics metrics = RenderMetrics.get();
+            LatencyHistogram frame = metrics.getFrameLatency(), render = metrics.getRenderLatency(currentType);
+            long hits = metrics.getCacheHits(), lookups = hits + metrics.getCacheMisses();
+            String[] lines = {
+                String.format("frame %.2f ms  p50 %.2f  p99 %.2f", frame.getLastMillis(), frame.getP50Millis(), frame.getP99Millis()),
+                String.format("render %s %.2f ms  p99 %.2f  (%d)", currentType, render.getLastMillis(), render.getP99Millis(), render.getCount()),
+                String.format("update %.2f ms  invalidations %d", metrics.getUpdateLatency().getLastMillis(), metrics.getCacheInvalidations()),
+                String.format("cache %d%% hits  %d tiles  %d MB", lookups == 0 ? 0 : hits * 100 / lookups, metrics.getCacheEntries(), metrics.getCacheBytes() >> 20)
+            };
+            g2d.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+            FontMetrics fm = g2d.getFontMetrics();
+            int width = 0;
+            for (String line : lines) width = Math.max(width, fm.stringWidth(line));
+            g2d.setColor(new Color(0, 0, 0, 160));
+            g2d.fillRect(8, 8, width + 12, lines.length * fm.getHeight() + 8);
+            g2d.setColor(Color.WHITE);
+            for (int i = 0; i < lines.length; i++)
+                g2d.drawString(lines[i], 14, 12 + fm.getAscent() + i * fm.getHeight());
+        }
+    }
 
-        Queue<Point> q = new LinkedList<>();
-        q.add(new Point(x, y));
-        boolean[][] visited = new boolean[tileSize][tileSize];
+    private BoundaryMask getBoundaryMask() {
+        if (boundaryMask == null || boundaryMask.getSize() != tileSize) {
+            boundaryMask = new BoundaryMask(tileSize);
+            boundaryMask.rebuild(actionHistory);
+        }
+        return boundaryMask;
+    }
 
-        while (!q.isEmpty()) {
-            Point curr = q.poll();
-            if (curr.x < 0 || curr.x >= tileSize || curr.y < 0 || curr.y >= tileSize) continue;
-            if (visited[curr.x][curr.y] || (mask.getRGB(curr.x, curr.y) & 0xFFFFFF) == (boundaryRGB & 0xFFFFFF)) continue;
+    // invalidFrom is the index of the first action removed or modified, actions beyond the previous history size are added
+    private void historyChanged(int invalidFrom) {
+        if (userTileRenderer != null)
+            userTileRenderer.invalidateFrom(invalidFrom);
+        userRevision++;
+        tilingPanel.clearCache();
+    }
 
-            visited[curr.x][curr.y] = true;
-            img.setRGB(curr.x, curr.y, fillRGB);
+    private BufferedImage getCachedTile(TileType type, int size) {
+        return getCachedTile(type, colors, size);
+    }
 
-            q.add(new Point(curr.x + 1, curr.y));
-            q.add(new Point(curr.x - 1, curr.y));
-            q.add(new Point(curr.x, curr.y + 1));
-            q.add(new Point(curr.x, curr.y - 1));
+    // invoked also by background threads with a snapshot of the palette, USER_MODE only on the EDT
+    private BufferedImage getCachedTile(TileType type, Color[] palette, int size) {
+        if (PaletteRaster.isSupported(type)) { // a change of colors only recolors the palette-indexed raster, kept on disk
+            BufferedImage raster = tileCache.getOrRender(type, PaletteRaster.BASIS, size, 0, () -> PaletteRaster.render(type, size));
+            return tileCache.getOrRender(type, palette, size, 0, () -> PaletteRaster.recolor(raster, palette), false);
         }
+        long params = type == TileType.USER_MODE ? userRevision : 0;
+        return tileCache.getOrRender(type, palette, size, params, () -> renderTile(type, palette, size));
     }
 
-    private void drawTile(TileType tile, Graphics2D g2d, int x, int y, int size) {
-        switch (tile) {
-            case USER_MODE: drawUserTile(g2d, x, y, size); break;
-            case GREEK: Tiles.drawGreekTile(g2d, colors, x, y, size); break;
-            case IPATTERN1: Tiles.drawIslamicStarTile1(g2d, colors, x, y, size); break;
-            case IPATTERN2: Tiles.drawIslamicStarTile2(g2d, colors, x, y, size); break;
-            case IPATTERN3: Tiles.drawIslamicStarTile3(g2d, colors, x, y, size); break;
-            case INTERLOCK: Tiles.drawInterlockingTile(g2d, colors, x, y, size); break;
-            case OCTAGRAM1: Tiles.drawOctagramTile(g2d, colors, x, y, size, 0.384); break;
-            case OCTAGRAM2: Tiles.drawOctagramTile(g2d, colors, x, y, size, 0.27); break;
-            case OCTAGON: Tiles.drawOctagonTile(g2d, colors, x, y, size, 1.0 / (2.0 + Math.sqrt(2))); break;
-            case OCTAGON2: Tiles.drawOctagonTile(g2d, colors, x, y, size, 1.0 / (1.0 + Math.sqrt(2))); break;
-            case SQUARES: Tiles.drawSquaresTile(g2d, colors, x, y, size); break;
-            case TARTAN: Tiles.drawTartanTile(g2d, colors, x, y, size); break;
-            case CROSSED: Tiles.drawCrossedTile(g2d, colors, x, y, size); break;
-            case INTERLACED: Tiles.drawInterlacedTile(g2d, colors, x, y, size); break;
-            case LABYRINTH: Tiles.drawLabyrinthTile(g2d, colors, x, y, size, size / 10.0); break;
-            case TRUCHET2: Tiles.drawTruchetTile(g2d, colors, x, y, size, 2, size / 10.0); break;
-            case TRUCHET3: Tiles.drawTruchetTile(g2d, colors, x, y, size, 3, size / 10.0); break;
-            case TRUCHET4: Tiles.drawTruchetTile(g2d, colors, x, y, size, 4, size / 10.0); break;
-            case WANG: Tiles.drawWangTile(g2d, colors, x, y, size, 8); break;
-            case VORONOI: Tiles.drawVoronoiTile(g2d, x, y, size, 40); break;
-            case BLCKFRCTL: Tiles.drawBlockFractal(g2d, colors, x, y, size, (int) (Math.log(size) / Math.log(3) - 1)); break;
-            case HLBRTFRCTL: Tiles.drawHilbertFractal(g2d, colors, x, y, size, (int) (Math.log(size) / Math.log(2) - 4)); break;
-            case POLYGONFRCTL: Tiles.drawFractalPolygon(g2d, colors, x, y, size, 8, 3, 0.4); break;
-            case GRIDSQRCIRCLE: Tiles.drawGridSquareCircles(g2d, colors, x, y, size, 6); break;
-            case DOTTEDGRID: Tiles.drawDottedGridTile(g2d, colors, x, y, size, 10); break;
-            case SQRSPIRAL: Tiles.drawSquareSpiralTile(g2d, colors, x, y, size, 10); break;
-            case SPIDERWEB: Tiles.drawSpiderWebTile(g2d, colors, x, y, size, 16, 8); break;
-            case CHECKERED: Tiles.drawCheckeredTile(g2d, colors, x, y, size); break;
-            default: break;
+    private BufferedImage renderTile(TileType type, Color[] palette, int size) {
+        if (type != TileType.USER_MODE)
+            return TileRenderer.renderTile(type, palette, size);
+        if (size == tileSize) {
+            if (userTileRenderer == null || userTileRenderer.getSize() != tileSize)
+                userTileRenderer = new UserTileRenderer(tileSize);
+            BufferedImage tile = userTileRenderer.render(actionHistory, colors[2], colorUserGrid);
+            BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            image.setData(tile.getRaster()); // snapshot, as the renderer keeps composing on its own image
+            return image;
         }
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        drawUserTile(g2d, 0, 0, size);
+        g2d.dispose();
+        return image;
     }
 
     private void drawUserTile(Graphics2D g2d, int x, int y, int size) {
-        g2d.setColor(colors[2]);
-        g2d.fillRect(x, y, size, size);
-
-        g2d.setColor(colorUserGrid);
-        g2d.setStroke(new BasicStroke(1f));
-        g2d.drawLine(x, y, x, y + size);
-        g2d.drawLine(x, y, x + size, y);
+        UserTileRenderer.drawBackground(g2d, x, y, size, colors[2], colorUserGrid);
 
         for (DrawingAction action : actionHistory)
             action.draw(g2d, size, tileSize);
@@ -558,7 +780,7 @@ public class SquareTiling extends JFrame {
                 g2d.setColor(colors[1]);
                 g2d.fillRect(0, 0, getWidth(), getHeight());
                 int size = Math.min(getWidth(), getHeight());
-                drawTile(currentType, g2d, (getWidth() - size) / 2, (getHeight() - size) / 2, size);
+                if (size > 0) g2d.drawImage(getCachedTile(currentType, size), (getWidth() - size) / 2, (getHeight() - size) / 2, null);
             }
         };
         dialog.add(previewPanel);
@@ -570,11 +792,19 @@ public class SquareTiling extends JFrame {
         colorBtn.setPreferredSize(new Dimension(30, 30));
         colorBtn.setBackground(initial);
         colorBtn.addActionListener(e -> {
-            Color newColor = JColorChooser.showDialog(this, "Select Color", initial);
-            if (newColor != null) {
-                setter.accept(newColor); colorBtn.setBackground(newColor);
+            Color oldColor = colorBtn.getBackground();
+            JColorChooser chooser = new JColorChooser(oldColor);
+            chooser.getSelectionModel().addChangeListener(ce -> { // live preview
+                setter.accept(chooser.getColor());
                 tilingPanel.clearCache(); repaint();
-            }
+            });
+            JDialog dialog = JColorChooser.createDialog(this, "Select Color", true, chooser,
+                ok -> colorBtn.setBackground(chooser.getColor()),
+                cancel -> {
+                    setter.accept(oldColor);
+                    tilingPanel.clearCache(); repaint();
+                });
+            dialog.setVisible(true);
         });
         return colorBtn;
     }
@@ -585,16 +815,134 @@ public class SquareTiling extends JFrame {
     }
 
     private void saveImage() {
-        BufferedImage image = new BufferedImage(tilingPanel.getWidth(), tilingPanel.getHeight(), BufferedImage.TYPE_INT_RGB);
-        Graphics2D g2d = image.createGraphics(); tilingPanel.paintAll(g2d); g2d.dispose();
         JFileChooser fc = new JFileChooser();
+        FileNameExtensionFilter pngFilter = new FileNameExtensionFilter("PNG image", "png");
+        FileNameExtensionFilter svgFilter = new FileNameExtensionFilter("SVG vector image", "svg");
+        fc.addChoosableFileFilter(pngFilter);
+        fc.addChoosableFileFilter(svgFilter);
+        fc.setFileFilter(pngFilter);
         if (fc.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
             File f = fc.getSelectedFile();
-            if (!f.getName().toLowerCase().endsWith(".png")) f = new File(f.getAbsolutePath() + ".png");
-            try { ImageIO.write(image, "png", f); } catch (IOException ex) { ex.printStackTrace(); }
+            String name = f.getName().toLowerCase();
+            if (name.endsWith(".svg") || fc.getFileFilter() == svgFilter && !name.endsWith(".png")) {
+                if (!name.endsWith(".svg")) f = new File(f.getAbsolutePath() + ".svg");
+                saveSvg(f);
+                return;
+            }
+            final File file = name.endsWith(".png") ? f : new File(f.getAbsolutePath() + ".png");
+            tilingPanel.whenFullTile(() -> { // the full tile replaces a preview, without waiting on the EDT
+                BufferedImage image = new BufferedImage(tilingPanel.getWidth(), tilingPanel.getHeight(), BufferedImage.TYPE_INT_RGB);
+                Graphics2D g2d = image.createGraphics(); tilingPanel.paintAll(g2d); g2d.dispose();
+                try { ImageIO.write(image, "png", file); } catch (IOException ex) { ex.printStackTrace(); }
+            });
         }
     }
 
+    private void saveSvg(File f) {
+        DisplayList tile = currentType == TileType.USER_MODE
+            ? DisplayList.record(tileSize, colors, g2d -> drawUserTile(g2d, 0, 0, tileSize))
+            : TileRenderer.recordTile(currentType, colors, tileSize);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8))) {
+            SvgExporter.writeSvg(out, tile, colors, tileSize, tilingPanel.getWidth(), tilingPanel.getHeight());
+        } catch (IOException ex) { ex.printStackTrace(); }
+    }
+
+    private void exportTiling() {
+        JSpinner widthSpinner = new JSpinner(new SpinnerNumberModel(Math.max(1, tilingPanel.getWidth()), 1, 1000000, 100));
+        JSpinner heightSpinner = new JSpinner(new SpinnerNumberModel(Math.max(1, tilingPanel.getHeight()), 1, 1000000, 100));
+        JComboBox<Integer> supersamplingCombo = new JComboBox<>(new Integer[]{1, 2, 3, 4});
+        boolean randomType = currentType == TileType.LABYRINTH || currentType == TileType.TRUCHET2 || currentType == TileType.TRUCHET3 || currentType == TileType.TRUCHET4;
+        JComboBox<String> patternCombo = new JComboBox<>(randomType
+            ? new String[]{"Periodic", "Wang (non-repeating)", currentType.title.trim() + " (non-repeating)"}
+            : new String[]{"Periodic", "Wang (non-repeating)"});
+        JPanel sizePanel = new JPanel(new GridLayout(4, 2, 5, 5));
+        sizePanel.add(new JLabel("Width (pixels):")); sizePanel.add(widthSpinner);
+        sizePanel.add(new JLabel("Height (pixels):")); sizePanel.add(heightSpinner);
+        sizePanel.add(new JLabel("Supersampling:")); sizePanel.add(supersamplingCombo);
+        sizePanel.add(new JLabel("Pattern:")); sizePanel.add(patternCombo);
+        if (JOptionPane.showConfirmDialog(this, sizePanel, "Export Tiling", JOptionPane.OK_CANCEL_OPTION) != JOptionPane.OK_OPTION)
+            return;
+        int width = (Integer) widthSpinner.getValue();
+        int height = (Integer) heightSpinner.getValue();
+        int supersampling = (Integer) supersamplingCombo.getSelectedItem();
+        int pattern = patternCombo.getSelectedIndex(); // 0: periodic, 1: Wang, 2: current type with hashed cells
+        String patternName = patternCombo.getItemAt(pattern);
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        JFileChooser fc = new JFileChooser();
+        if (fc.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File f = fc.getSelectedFile();
+        if (!f.getName().toLowerCase().endsWith(".png")) f = new File(f.getAbsolutePath() + ".png");
+        final File file = f;
+
+        final int size = tileSize;
+        final TileType type = currentType;
+        final Color[] palette = colors.clone();
+        // the user tile depends on the drawing history and is rendered on the EDT, other tiles by the worker
+        final BufferedImage userTile = pattern == 0 && type == TileType.USER_MODE ? getCachedTile(type, palette, size * supersampling) : null;
+        BandRenderer.Painter painter;
+        if (pattern == 1) { // cells of 2 colors, generated row by row as bands are rendered
+            double cellSize = Math.max(4, size / 8.0);
+            painter = WangGenerator.complete(2, (int) Math.ceil(width / cellSize), 0).painter(palette, cellSize);
+        } else if (pattern == 2) { // cells hashed from their coordinates, so that bands are independent
+            double cellSize = size / 10.0;
+            painter = g2d -> {
+                Rectangle clip = g2d.getClipBounds();
+                if (type == TileType.LABYRINTH) Tiles.drawLabyrinthRegion(g2d, palette, clip, cellSize, 0);
+                else Tiles.drawTruchetRegion(g2d, palette, clip, type == TileType.TRUCHET2 ? 2 : type == TileType.TRUCHET3 ? 3 : 4, cellSize, 0);
+            };
+        } else painter = null; // periodic, the tile is rendered by the worker
+
+        ProgressMonitor monitor = new ProgressMonitor(this, "Exporting " + width + "x" + height + " image", file.getName(), 0, 100);
+        monitor.setMillisToDecideToPopup(200);
+        SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws IOException {
+                RenderEvents.Export event = new RenderEvents.Export();
+                event.begin();
+                long start = System.nanoTime();
+                BufferedImage tileImage = pattern != 0 ? null : userTile != null ? userTile : getCachedTile(type, palette, size * supersampling);
+                try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+                    if (pattern == 0 && supersampling == 1 && threads == 1)
+                        TilingExporter.writePng(out, tileImage.getRGB(0, 0, size, size, null, 0, size), size, width, height, this::setProgress);
+                    else new BandRenderer(width, height, supersampling, threads).writePng(out, painter != null ? painter : g2d -> {
+                        // tile rendered at the supersampled resolution, mapped 1:1 to band pixels
+                        g2d.setPaint(new TexturePaint(tileImage, new Rectangle2D.Double(0, 0, size, size)));
+                        g2d.fill(g2d.getClipBounds());
+                    }, this::setProgress);
+                } catch (IOException ex) {
+                    file.delete();
+                    throw ex;
+                }
+                RenderMetrics.get().recordExport(System.nanoTime() - start);
+                event.pattern = patternName;
+                event.width = width;
+                event.height = height;
+                event.supersampling = supersampling;
+                event.threads = threads;
+                event.commit();
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                monitor.close();
+                try {
+                    get();
+                } catch (java.util.concurrent.CancellationException ex) {
+                    // partial file is removed by doInBackground
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(SquareTiling.this, "Export failed: " + ex.getCause(), "Export", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.addPropertyChangeListener(e -> {
+            if (monitor.isCanceled()) worker.cancel(true);
+            else if ("progress".equals(e.getPropertyName())) monitor.setProgress((Integer) e.getNewValue());
+        });
+        worker.execute();
+    }
+
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> new SquareTiling().setVisible(true));
     }
@@ -0,0 +1,375 @@
+package server;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import javax.imageio.ImageIO;
+
+import tiles.LatencyHistogram;
+import tiles.PaletteRaster;
+import tiles.TileCache;
+import tiles.TileRenderer;
+import tiles.TileType;
+import tiles.TilingExporter;
+
+/*
+Class 'TileServer' serves tiles and tilings as PNG images over HTTP, using the HTTP server of the JDK:
+
+GET /tile/{type}/{size}?palette=rrggbb,rrggbb,rrggbb,rrggbb     single tile, e.g. /tile/greek/150
+GET /tiling/{type}?w=1000&h=700&size=150&palette=...             tiling of w x h pixels
+GET /metrics                                                       request, cache and latency metrics as text
+
+Type is the name of the tile type, case insensitive; palette is optional, colors are rrggbb or aarrggbb in hex.
+Responses are kept in an LRU cache of PNG bytes, bounded in bytes, with an ETag so that clients can revalidate with
+If-None-Match. Concurrent requests for the same image are rendered once: the first request renders, the others wait
+for its result (single-flight). Rendered tiles are shared between tile and tiling requests through a TileCache.
+Requests are handled on a fixed thread pool, as virtual threads require Java 21.
+
+Run with: ant server -Dserver.port=8080
+
+*/
+
+public class TileServer {
+    private static final Logger logger = Logger.getLogger(TileServer.class.getName());
+    private static final Color[] DEFAULT_COLORS = {new Color(255, 180, 0), new Color(0, 20, 60), Color.WHITE, new Color(0, 200, 210)};
+    private static final int MAX_TILE_SIZE = 4096;
+    private static final long MAX_TILING_PIXELS = 100_000_000L;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final TileCache tileCache;
+    private final long maxResponseBytes;
+    private final LinkedHashMap<String, Response> responses = new LinkedHashMap<>(16, 0.75f, true);
+    private long responseBytes;
+    private final ConcurrentHashMap<String, CompletableFuture<Response>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder renders = new LongAdder();
+    private final LongAdder joins = new LongAdder();
+    private final LatencyHistogram tileLatency = new LatencyHistogram();
+    private final LatencyHistogram tilingLatency = new LatencyHistogram();
+
+    private static final class Response {
+        final byte[] body;
+        final String etag;
+
+        Response(byte[] body) {
+            this.body = body;
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            etag = "\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(body.length) + "\"";
+        }
+    }
+
+    public TileServer(InetSocketAddress address, int threads, long cacheBytes) throws IOException {
+        tileCache = new TileCache(cacheBytes / 2);
+        maxResponseBytes = cacheBytes / 2;
+        executor = Executors.newFixedThreadPool(threads);
+        server = HttpServer.create(address, 256);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        requests.increment();
+        LatencyHistogram latency = null;
+        try {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                sendText(exchange, 405, "method not allowed\n");
+                return;
+            }
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String endpoint = path.length > 1 ? path[1] : "";
+            Response response;
+            if (endpoint.equals("tile") && path.length == 4) {
+                latency = tileLatency;
+                TileType type = parseType(path[2]);
+                int size = parseInt(path[3], "size", 1, MAX_TILE_SIZE);
+                Color[] colors = parsePalette(query.get("palette"));
+                response = get("tile/" + type + "/" + size + "/" + paletteKey(colors), () -> encodeTile(type, colors, size));
+            } else if (endpoint.equals("tiling") && path.length == 3) {
+                latency = tilingLatency;
+                TileType type = parseType(path[2]);
+                int width = parseInt(query.getOrDefault("w", "1000"), "w", 1, Integer.MAX_VALUE);
+                int height = parseInt(query.getOrDefault("h", "700"), "h", 1, Integer.MAX_VALUE);
+                if ((long) width * height > MAX_TILING_PIXELS)
+                    throw new IllegalArgumentException("tiling larger than " + MAX_TILING_PIXELS + " pixels");
+                int size = parseInt(query.getOrDefault("size", "150"), "size", 1, MAX_TILE_SIZE);
+                Color[] colors = parsePalette(query.get("palette"));
+                response = get("tiling/" + type + "/" + size + "/" + width + "x" + height + "/" + paletteKey(colors),
+                    () -> encodeTiling(type, colors, size, width, height));
+            } else if (endpoint.equals("metrics") && path.length == 2) {
+                sendText(exchange, 200, metrics());
+                return;
+            } else {
+                sendText(exchange, 404, "not found, use /tile/{type}/{size}, /tiling/{type}?w=&h= or /metrics\n");
+                return;
+            }
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("ETag", response.etag);
+            headers.set("Cache-Control", "public, max-age=3600");
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if (ifNoneMatch != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(response.etag))) {
+                notModified.increment();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            headers.set("Content-Type", "image/png");
+            if (method.equals("HEAD")) {
+                headers.set("Content-Length", Integer.toString(response.body.length));
+                exchange.sendResponseHeaders(200, -1);
+            } else {
+                exchange.sendResponseHeaders(200, response.body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response.body);
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            errors.increment();
+            sendText(exchange, 400, ex.getMessage() + "\n");
+        } catch (Exception ex) {
+            errors.increment();
+            logger.log(Level.SEVERE, "error handling " + exchange.getRequestMethod() + " " + exchange.getRequestURI(), ex);
+            sendText(exchange, 500, "internal error\n");
+        } finally {
+            exchange.close();
+            if (latency != null) latency.record(System.nanoTime() - start);
+        }
+    }
+
+    // returns the cached response or renders it, once for all concurrent requests of the same key
+    private Response get(String key, Callable<byte[]> renderer) throws Exception {
+        Response response = getCached(key);
+        if (response != null) {
+            hits.increment();
+            return response;
+        }
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        CompletableFuture<Response> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            joins.increment();
+            try {
+                return running.get();
+            } catch (ExecutionException ex) {
+                throw ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex;
+            }
+        }
+        try {
+            response = getCached(key); // completed between the lookup and putIfAbsent
+            if (response == null) {
+                renders.increment();
+                response = new Response(renderer.call());
+                putCached(key, response);
+            } else hits.increment();
+            future.complete(response);
+            return response;
+        } catch (Exception | Error ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private synchronized Response getCached(String key) {
+        return responses.get(key);
+    }
+
+    private synchronized void putCached(String key, Response response) {
+        if (response.body.length > maxResponseBytes / 8) return; // large tilings are not worth evicting the tiles
+        Response old = responses.put(key, response);
+        if (old != null) responseBytes -= old.body.length;
+        responseBytes += response.body.length;
+        Iterator<Response> it = responses.values().iterator();
+        while (responseBytes > maxResponseBytes && it.hasNext()) {
+            responseBytes -= it.next().body.length;
+            it.remove();
+        }
+    }
+
+    private BufferedImage renderTile(TileType type, Color[] colors, int size) {
+        if (PaletteRaster.isSupported(type)) {
+            BufferedImage raster = tileCache.getOrRender(type, PaletteRaster.BASIS, size, 0, () -> PaletteRaster.render(type, size));
+            return tileCache.getOrRender(type, colors, size, 0, () -> PaletteRaster.recolor(raster, colors));
+        }
+        return tileCache.getOrRender(type, colors, size, 0, () -> TileRenderer.renderTile(type, colors, size));
+    }
+
+    private byte[] encodeTile(TileType type, Color[] colors, int size) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(renderTile(type, colors, size), "png", out);
+        return out.toByteArray();
+    }
+
+    private byte[] encodeTiling(TileType type, Color[] colors, int size, int width, int height) throws IOException {
+        BufferedImage tile = renderTile(type, colors, size);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TilingExporter.writePng(out, tile.getRGB(0, 0, size, size, null, 0, size), size, width, height, null);
+        return out.toByteArray();
+    }
+
+    private String metrics() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("requests ").append(requests.sum()).append('\n');
+        sb.append("not_modified ").append(notModified.sum()).append('\n');
+        sb.append("errors ").append(errors.sum()).append('\n');
+        sb.append("response_cache_hits ").append(hits.sum()).append('\n');
+        sb.append("renders ").append(renders.sum()).append('\n');
+        sb.append("single_flight_joins ").append(joins.sum()).append('\n');
+        sb.append("in_flight ").append(inFlight.size()).append('\n');
+        synchronized (this) {
+            sb.append("response_cache_entries ").append(responses.size()).append('\n');
+            sb.append("response_cache_bytes ").append(responseBytes).append('\n');
+        }
+        sb.append("tile_cache_entries ").append(tileCache.size()).append('\n');
+        sb.append("tile_cache_bytes ").append(tileCache.getBytes()).append('\n');
+        sb.append("tile_cache_hits ").append(tileCache.getHits()).append('\n');
+        sb.append("tile_cache_misses ").append(tileCache.getMisses()).append('\n');
+        tileLatency.append(sb, "tile_latency");
+        tilingLatency.append(sb, "tiling_latency");
+        return sb.toString();
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, exchange.getRequestMethod().equals("HEAD") ? -1 : body.length);
+        if (!exchange.getRequestMethod().equals("HEAD"))
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> map = new HashMap<>();
+        if (query == null) return map;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0)
+                map.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return map;
+    }
+
+    private static TileType parseType(String name) {
+        TileType type;
+        try {
+            type = TileType.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("unknown tile type: " + name);
+        }
+        if (type == TileType.USER_MODE)
+            throw new IllegalArgumentException("tile type not supported: " + name);
+        return type;
+    }
+
+    private static int parseInt(String value, String name, int min, int max) {
+        try {
+            int v = Integer.parseInt(value);
+            if (v >= min && v <= max) return v;
+        } catch (NumberFormatException ex) {
+            // reported below
+        }
+        throw new IllegalArgumentException(name + " must be an integer between " + min + " and " + max);
+    }
+
+    private static Color[] parsePalette(String palette) {
+        if (palette == null) return DEFAULT_COLORS;
+        String[] values = palette.split(",");
+        if (values.length != 4)
+            throw new IllegalArgumentException("palette must have 4 colors");
+        Color[] colors = new Color[4];
+        for (int i = 0; i < 4; i++) {
+            String v = values[i].trim();
+            if (v.startsWith("#")) v = v.substring(1);
+            try {
+                if (v.length() == 6) colors[i] = new Color(Integer.parseInt(v, 16));
+                else if (v.length() == 8) colors[i] = new Color((int) Long.parseLong(v, 16), true);
+            } catch (NumberFormatException ex) {
+                // reported below
+            }
+            if (colors[i] == null)
+                throw new IllegalArgumentException("color must be rrggbb or aarrggbb: " + values[i]);
+        }
+        return colors;
+    }
+
+    private static String paletteKey(Color[] colors) {
+        StringBuilder sb = new StringBuilder();
+        for (Color c : colors)
+            sb.append(Integer.toHexString(c.getRGB())).append(',');
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 4 * Runtime.getRuntime().availableProcessors();
+        TileServer server = new TileServer(new InetSocketAddress(port), threads, 256L << 20);
+        server.start();
+        System.out.println("Tile server listening on http://localhost:" + server.getPort() + "/");
+    }
+}
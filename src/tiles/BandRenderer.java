@@ -0,0 +1,263 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.zip.Adler32;
+import java.util.zip.Deflater;
+
+/*
+Class 'BandRenderer' renders a canvas of arbitrary size in horizontal bands on a pool of threads, each band with its own
+Graphics2D translated and clipped to the band, optionally supersampled:
+
+BandRenderer renderer = new BandRenderer(width, height, supersampling, threads);
+renderer.writePng(out, g2d -> { ... }, progress);
+
+The painter draws the whole canvas in canvas coordinates and is invoked concurrently, once per band; painters should
+skip what is outside g2d.getClipBounds(). With supersampling n the band is rendered n times larger and averaged down.
+writePng compresses the bands in parallel too, as raw deflate streams ending with a sync flush, and writes them in order
+as one zlib stream of a PNG image, so that neither rendering nor compression is limited to one core. At most 2 bands per
+thread are in memory, each band has about 1 million rendered pixels. render returns the whole canvas as image instead.
+Transparent pixels are composed over black, as in TilingExporter; an export is cancelled by interrupting the calling thread.
+
+*/
+
+public class BandRenderer {
+
+    public interface Painter {
+        void paint(Graphics2D g2d);
+    }
+
+    private static final int BAND_PIXELS = 1 << 20;
+
+    private final int width, height, supersampling, threads, bandHeight;
+
+    public BandRenderer(int width, int height, int supersampling, int threads) {
+        if (width <= 0 || height <= 0 || (long) width * 3 + 1 > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("invalid image size " + width + "x" + height);
+        if (supersampling < 1 || (long) width * supersampling > Integer.MAX_VALUE / supersampling)
+            throw new IllegalArgumentException("invalid supersampling " + supersampling);
+        this.width = width;
+        this.height = height;
+        this.supersampling = supersampling;
+        this.threads = Math.max(1, threads);
+        bandHeight = (int) Math.max(1, Math.min(height, BAND_PIXELS / ((long) width * supersampling * supersampling)));
+    }
+
+    public int getBandHeight() { return bandHeight; }
+
+    // renders the canvas as premultiplied ARGB image
+    public BufferedImage render(Painter painter) throws InterruptedException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> bands = new ArrayList<>();
+            for (int y = 0; y < height; y += bandHeight) {
+                int y0 = y, rows = Math.min(bandHeight, height - y);
+                bands.add(pool.submit(() -> {
+                    int[] band = renderBand(painter, y0, rows);
+                    System.arraycopy(band, 0, pixels, y0 * width, band.length);
+                }));
+            }
+            for (Future<?> band : bands)
+                band.get();
+        } catch (ExecutionException ex) {
+            throw rethrow(ex);
+        } finally {
+            pool.shutdownNow();
+        }
+        return image;
+    }
+
+    public void writePng(OutputStream out, Painter painter, IntConsumer progress) throws IOException {
+        int bands = (height + bandHeight - 1) / bandHeight;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<CompressedBand>> queue = new ArrayDeque<>();
+        TilingExporter.writeHeader(out, width, height);
+        try (OutputStream idat = new TilingExporter.IdatOutputStream(out)) {
+            idat.write(0x78); // zlib header, deflate with 32K window
+            idat.write(0x9C);
+            long adler = 1;
+            int next = 0, percent = -1;
+            for (int b = 0; b < bands; b++) {
+                while (next < bands && queue.size() < 2 * threads) {
+                    int y0 = next * bandHeight, rows = Math.min(bandHeight, height - y0);
+                    boolean last = next == bands - 1;
+                    queue.add(pool.submit(() -> compressBand(renderBand(painter, y0, rows), rows, last)));
+                    next++;
+                }
+                CompressedBand band;
+                try {
+                    band = queue.poll().get();
+                } catch (InterruptedException ex) {
+                    throw new InterruptedIOException("export cancelled");
+                } catch (ExecutionException ex) {
+                    if (ex.getCause() instanceof IOException) throw (IOException) ex.getCause();
+                    throw rethrow(ex);
+                }
+                idat.write(band.data, 0, band.length);
+                adler = combineAdler32(adler, band.adler, band.rawLength);
+
+                int p = (int) ((b + 1) * 100L / bands);
+                if (p != percent && progress != null) {
+                    percent = p;
+                    progress.accept(p);
+                }
+                if (Thread.currentThread().isInterrupted())
+                    throw new InterruptedIOException("export cancelled");
+            }
+            idat.write(new byte[]{(byte) (adler >>> 24), (byte) (adler >>> 16), (byte) (adler >>> 8), (byte) adler});
+        } finally {
+            for (Future<CompressedBand> band : queue)
+                band.cancel(true);
+            pool.shutdownNow();
+        }
+        TilingExporter.writeEnd(out);
+    }
+
+    // premultiplied ARGB pixels of rows y0 .. y0 + rows - 1
+    private int[] renderBand(Painter painter, int y0, int rows) {
+        int n = supersampling;
+        BufferedImage image = new BufferedImage(width * n, rows * n, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        g2d.scale(n, n);
+        g2d.translate(0, -y0);
+        g2d.clipRect(0, y0, width, rows);
+        painter.paint(g2d);
+        g2d.dispose();
+        int[] src = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        if (n == 1) return src;
+
+        int[] dst = new int[width * rows];
+        int samples = n * n, half = samples / 2, scanline = width * n;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < width; col++) {
+                int a = 0, r = 0, g = 0, b = 0;
+                for (int sy = 0; sy < n; sy++) {
+                    int i = (row * n + sy) * scanline + col * n;
+                    for (int sx = 0; sx < n; sx++) {
+                        int p = src[i + sx];
+                        a += p >>> 24;
+                        r += (p >> 16) & 0xFF;
+                        g += (p >> 8) & 0xFF;
+                        b += p & 0xFF;
+                    }
+                }
+                dst[row * width + col] = (a + half) / samples << 24 | (r + half) / samples << 16 | (g + half) / samples << 8 | (b + half) / samples;
+            }
+        }
+        return dst;
+    }
+
+    private static final class CompressedBand {
+        byte[] data;
+        int length;
+        int adler;
+        int rawLength;
+    }
+
+    // PNG scanlines (filter type 0, RGB composed over black) of the band, as raw deflate stream
+    private CompressedBand compressBand(int[] pixels, int rows, boolean last) {
+        int stride = width * 3 + 1;
+        byte[] raw = new byte[rows * stride];
+        for (int row = 0; row < rows; row++) {
+            int o = row * stride + 1;
+            for (int col = 0, i = row * width; col < width; col++, i++) {
+                int p = pixels[i]; // premultiplied, i.e. already composed over black
+                raw[o++] = (byte) (p >> 16);
+                raw[o++] = (byte) (p >> 8);
+                raw[o++] = (byte) p;
+            }
+        }
+        CompressedBand band = new CompressedBand();
+        Adler32 adler = new Adler32();
+        adler.update(raw);
+        band.adler = (int) adler.getValue();
+        band.rawLength = raw.length;
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length / 4 + 64);
+        byte[] buffer = new byte[1 << 16];
+        try {
+            deflater.setInput(raw);
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int count = deflater.deflate(buffer);
+                    bytes.write(buffer, 0, count);
+                }
+            } else { // sync flush ends the stream of the band on a byte boundary, without final block
+                int count;
+                do {
+                    count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    bytes.write(buffer, 0, count);
+                } while (count == buffer.length);
+            }
+        } finally {
+            deflater.end();
+        }
+        band.length = bytes.size();
+        band.data = bytes.toByteArray();
+        return band;
+    }
+
+    // Adler-32 of the concatenation of 2 blocks, as adler32_combine of zlib
+    static long combineAdler32(long adler1, long adler2, long length2) {
+        final long BASE = 65521;
+        long rem = length2 % BASE;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = rem * sum1 % BASE;
+        sum1 += (adler2 & 0xFFFF) + BASE - 1;
+        sum2 += ((adler1 >> 16) & 0xFFFF) + ((adler2 >> 16) & 0xFFFF) + BASE - rem;
+        if (sum1 >= BASE) sum1 -= BASE;
+        if (sum1 >= BASE) sum1 -= BASE;
+        if (sum2 >= BASE << 1) sum2 -= BASE << 1;
+        if (sum2 >= BASE) sum2 -= BASE;
+        return sum1 | sum2 << 16;
+    }
+
+    private static RuntimeException rethrow(ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException) return (RuntimeException) cause;
+        if (cause instanceof Error) throw (Error) cause;
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,210 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+Class 'DiskTileCache' keeps rendered tiles in a directory of raw raster files, so that tiles survive restarts of the
+application. It is used as second tier of TileCache:
+
+TileCache cache = new TileCache(64L << 20, DiskTileCache.openDefault());
+
+Files are named after tile type, size, parameter value and palette; each file has a header (magic, CONTENT_VERSION,
+image type, width, height) followed by the pixels as ints, and is read back through a memory-mapped FileChannel.
+CONTENT_VERSION must be incremented whenever a change of code changes the output of a tile type, files of other versions
+are discarded. Files are written to a temporary file and then moved in place, so readers never see partial files.
+When the total size exceeds maxBytes, the least recently used files (by last modified time, updated on every hit) are
+deleted. I/O errors are handled as cache misses, as a cache must never prevent rendering.
+Default directory is ~/.squaretiling/cache, it can be changed with system property squaretiling.cache.dir and the
+default limit of 256 MB with system property squaretiling.cache.mb.
+
+*/
+
+public class DiskTileCache {
+    public static final int CONTENT_VERSION = 6;
+
+    private static final int MAGIC = 0x53544C31; // STL1
+    private static final int HEADER_BYTES = 20;
+    private static final String SUFFIX = ".tile";
+
+    private final Path dir;
+    private final long maxBytes;
+    private long bytes;
+
+    public DiskTileCache(Path dir, long maxBytes) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.maxBytes = maxBytes;
+        for (Path file : listFiles())
+            bytes += Files.size(file);
+    }
+
+    // returns null if the cache directory cannot be created
+    public static DiskTileCache openDefault() {
+        String dir = System.getProperty("squaretiling.cache.dir",
+            System.getProperty("user.home") + File.separator + ".squaretiling" + File.separator + "cache");
+        try {
+            return new DiskTileCache(Paths.get(dir), Long.getLong("squaretiling.cache.mb", 256) << 20);
+        } catch (IOException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    public BufferedImage get(TileType type, Color[] colors, int size, long params) {
+        Path file = dir.resolve(fileName(type, colors, size, params));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES) return discard(file);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            int magic = buffer.getInt(), version = buffer.getInt(), imageType = buffer.getInt();
+            int width = buffer.getInt(), height = buffer.getInt();
+            if (magic != MAGIC || version != CONTENT_VERSION || !isSupported(imageType) || width <= 0 || height <= 0
+                    || length != HEADER_BYTES + 4L * width * height)
+                return discard(file);
+            BufferedImage image = new BufferedImage(width, height, imageType);
+            IntBuffer pixels = buffer.asIntBuffer();
+            pixels.get(((DataBufferInt) image.getRaster().getDataBuffer()).getData());
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return image;
+        } catch (IOException ex) {
+            return null; // missing or unreadable file
+        }
+    }
+
+    public void put(TileType type, Color[] colors, int size, long params, BufferedImage image) {
+        if (!isSupported(image.getType())) return;
+        int width = image.getWidth(), height = image.getHeight();
+        long length = HEADER_BYTES + 4L * width * height;
+        if (length > maxBytes || length > Integer.MAX_VALUE) return;
+        Path file = dir.resolve(fileName(type, colors, size, params));
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(dir, type.name(), ".tmp");
+            ByteBuffer buffer = ByteBuffer.allocate((int) length);
+            buffer.putInt(MAGIC).putInt(CONTENT_VERSION).putInt(image.getType()).putInt(width).putInt(height);
+            buffer.asIntBuffer().put(((DataBufferInt) image.getRaster().getDataBuffer()).getData(), 0, width * height);
+            buffer.rewind();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+            }
+            long old = Files.exists(file) ? Files.size(file) : 0;
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ex) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+            synchronized (this) {
+                bytes += length - old;
+                if (bytes > maxBytes) evict();
+            }
+        } catch (IOException ex) {
+            // the tile is simply not cached
+        } finally {
+            if (temp != null) try { Files.deleteIfExists(temp); } catch (IOException ex) { }
+        }
+    }
+
+    public synchronized void clear() {
+        for (Path file : listFiles())
+            try { Files.deleteIfExists(file); } catch (IOException ex) { }
+        bytes = 0;
+    }
+
+    public Path getDirectory() { return dir; }
+    public synchronized long getBytes() { return bytes; }
+
+    private static boolean isSupported(int imageType) {
+        return imageType == BufferedImage.TYPE_INT_ARGB || imageType == BufferedImage.TYPE_INT_ARGB_PRE || imageType == BufferedImage.TYPE_INT_RGB;
+    }
+
+    private static String fileName(TileType type, Color[] colors, int size, long params) {
+        StringBuilder sb = new StringBuilder(type.name()).append('-').append(size).append('-').append(Long.toHexString(params));
+        for (Color c : colors)
+            sb.append('-').append(Integer.toHexString(c.getRGB()));
+        return sb.append(SUFFIX).toString();
+    }
+
+    private BufferedImage discard(Path file) throws IOException {
+        long length = Files.size(file);
+        if (Files.deleteIfExists(file))
+            synchronized (this) { bytes -= length; }
+        return null;
+    }
+
+    // deletes the least recently used files down to 3/4 of maxBytes, so that eviction does not run on every put
+    private void evict() {
+        List<Path> files = listFiles();
+        List<long[]> entries = new ArrayList<>(); // last modified, length, index
+        for (int i = 0; i < files.size(); i++) {
+            try {
+                Path file = files.get(i);
+                entries.add(new long[]{Files.getLastModifiedTime(file).toMillis(), Files.size(file), i});
+            } catch (IOException ex) {
+                // removed meanwhile
+            }
+        }
+        entries.sort((a, b) -> Long.compare(a[0], b[0]));
+        long total = 0;
+        for (long[] e : entries)
+            total += e[1];
+        for (int i = 0; i < entries.size() && total > maxBytes * 3 / 4; i++) {
+            try {
+                if (Files.deleteIfExists(files.get((int) entries.get(i)[2])))
+                    total -= entries.get(i)[1];
+            } catch (IOException ex) {
+                // still in use, e.g. mapped on Windows
+            }
+        }
+        bytes = total;
+    }
+
+    private List<Path> listFiles() {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path file : stream)
+                files.add(file);
+        } catch (IOException ex) {
+            // empty cache
+        }
+        return files;
+    }
+}
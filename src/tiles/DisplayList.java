@@ -0,0 +1,216 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/*
+Class 'DisplayList' stores the drawing operations of a tile in primitive arrays, normalized to a tile of size 1 and with
+colors of the palette stored as palette indices, so that a recorded tile can be replayed at any size and with any palette:
+
+DisplayList list = DisplayList.record(type);
+list.replay(g2d, colors, x, y, size);
+
+Operations are fill and draw of paths, color, stroke and clip changes. Stroke widths are stored normalized as well,
+on replay they are not thinner than one pixel, as the hairlines of the tiles.
+Recording is done through class 'RecordingGraphics2D'.
+
+*/
+
+public class DisplayList {
+    static final byte FILL = 0, DRAW = 1, COLOR = 2, STROKE = 3, CLIP = 4, NO_CLIP = 5;
+
+    private byte[] ops = new byte[64];
+    private int opCount;
+    private byte[] segments = new byte[256]; // path segment types
+    private int segmentCount;
+    private float[] coords = new float[512];
+    private int coordCount;
+    private int[] ints = new int[128]; // path lengths and winding rules, colors, stroke caps and joins
+    private int intCount;
+
+    public interface Visitor {
+        void color(int paletteIndex, int argb); // paletteIndex < 0 for literal colors, otherwise argb holds the alpha only
+        void stroke(float width, int cap, int join, float miterLimit);
+        void fill(Path2D path);
+        void draw(Path2D path);
+        void clip(Path2D path); // null to reset the clip
+    }
+
+    public static DisplayList record(TileType type) {
+        return record(TileRenderer.REFERENCE_SIZE, TileRenderer.SENTINEL_COLORS,
+            g2d -> TileRenderer.paintTile(type, g2d, TileRenderer.SENTINEL_COLORS, 0, 0, TileRenderer.REFERENCE_SIZE));
+    }
+
+    // records what painter draws on a tile of the given size at origin 0,0
+    public static DisplayList record(int size, Color[] palette, Consumer<Graphics2D> painter) {
+        DisplayList list = new DisplayList();
+        RecordingGraphics2D g2d = new RecordingGraphics2D(list, palette, 1.0 / size);
+        painter.accept(g2d);
+        g2d.dispose();
+        list.trim();
+        return list;
+    }
+
+    public void replay(Graphics2D g2d, Color[] palette, double x, double y, double size) {
+        AffineTransform transform = g2d.getTransform();
+        Shape clip = g2d.getClip();
+        java.awt.Stroke stroke = g2d.getStroke();
+        java.awt.Paint paint = g2d.getPaint();
+        g2d.translate(x, y);
+        g2d.scale(size, size);
+        Shape baseClip = g2d.getClip();
+        accept(new Visitor() {
+            public void color(int paletteIndex, int argb) {
+                if (paletteIndex < 0)
+                    g2d.setColor(new Color(argb, true));
+                else {
+                    Color c = palette[paletteIndex];
+                    int alpha = (argb >>> 24) * c.getAlpha() / 255;
+                    g2d.setColor(alpha == 255 ? c : new Color(c.getRed(), c.getGreen(), c.getBlue(), alpha));
+                }
+            }
+            public void stroke(float width, int cap, int join, float miterLimit) {
+                float pixels = (float) Math.max(width * size, 1);
+                g2d.setStroke(new BasicStroke((float) (pixels / size), cap, join, miterLimit));
+            }
+            public void fill(Path2D path) { g2d.fill(path); }
+            public void draw(Path2D path) { g2d.draw(path); }
+            public void clip(Path2D path) {
+                g2d.setClip(baseClip);
+                if (path != null) g2d.clip(path);
+            }
+        });
+        g2d.setTransform(transform);
+        g2d.setClip(clip);
+        g2d.setStroke(stroke);
+        g2d.setPaint(paint);
+    }
+
+    public void accept(Visitor visitor) {
+        int s = 0, c = 0, n = 0;
+        for (int i = 0; i < opCount; i++) {
+            switch (ops[i]) {
+                case COLOR:
+                    visitor.color(ints[n], ints[n + 1]);
+                    n += 2;
+                    break;
+                case STROKE:
+                    visitor.stroke(coords[c], ints[n], ints[n + 1], coords[c + 1]);
+                    c += 2;
+                    n += 2;
+                    break;
+                case NO_CLIP:
+                    visitor.clip(null);
+                    break;
+                default: // FILL, DRAW, CLIP
+                    int length = ints[n], windingRule = ints[n + 1];
+                    n += 2;
+                    Path2D.Float path = new Path2D.Float(windingRule, length);
+                    for (int k = 0; k < length; k++) {
+                        switch (segments[s++]) {
+                            case PathIterator.SEG_MOVETO: path.moveTo(coords[c], coords[c + 1]); c += 2; break;
+                            case PathIterator.SEG_LINETO: path.lineTo(coords[c], coords[c + 1]); c += 2; break;
+                            case PathIterator.SEG_QUADTO: path.quadTo(coords[c], coords[c + 1], coords[c + 2], coords[c + 3]); c += 4; break;
+                            case PathIterator.SEG_CUBICTO: path.curveTo(coords[c], coords[c + 1], coords[c + 2], coords[c + 3], coords[c + 4], coords[c + 5]); c += 6; break;
+                            default: path.closePath(); break;
+                        }
+                    }
+                    if (ops[i] == FILL) visitor.fill(path);
+                    else if (ops[i] == DRAW) visitor.draw(path);
+                    else visitor.clip(path);
+                    break;
+            }
+        }
+    }
+
+// recording methods, invoked by RecordingGraphics2D
+
+    void addColor(int paletteIndex, int argb) {
+        addOp(COLOR);
+        addInt(paletteIndex);
+        addInt(argb);
+    }
+
+    void addStroke(float width, int cap, int join, float miterLimit) {
+        addOp(STROKE);
+        addCoord(width);
+        addCoord(miterLimit);
+        addInt(cap);
+        addInt(join);
+    }
+
+    void addNoClip() {
+        addOp(NO_CLIP);
+    }
+
+    void addPath(byte op, Shape shape, AffineTransform transform) {
+        addOp(op);
+        PathIterator it = shape.getPathIterator(transform);
+        int lengthIndex = intCount;
+        addInt(0);
+        addInt(it.getWindingRule());
+        float[] c = new float[6];
+        int length = 0;
+        for (; !it.isDone(); it.next()) {
+            int type = it.currentSegment(c);
+            if (segmentCount == segments.length) segments = Arrays.copyOf(segments, segmentCount * 2);
+            segments[segmentCount++] = (byte) type;
+            int points = type == PathIterator.SEG_CLOSE ? 0 : type == PathIterator.SEG_QUADTO ? 2 : type == PathIterator.SEG_CUBICTO ? 3 : 1;
+            for (int k = 0; k < 2 * points; k++)
+                addCoord(c[k]);
+            length++;
+        }
+        ints[lengthIndex] = length;
+    }
+
+    private void addOp(byte op) {
+        if (opCount == ops.length) ops = Arrays.copyOf(ops, opCount * 2);
+        ops[opCount++] = op;
+    }
+
+    private void addCoord(float v) {
+        if (coordCount == coords.length) coords = Arrays.copyOf(coords, coordCount * 2);
+        coords[coordCount++] = v;
+    }
+
+    private void addInt(int v) {
+        if (intCount == ints.length) ints = Arrays.copyOf(ints, intCount * 2);
+        ints[intCount++] = v;
+    }
+
+    private void trim() {
+        ops = Arrays.copyOf(ops, opCount);
+        segments = Arrays.copyOf(segments, segmentCount);
+        coords = Arrays.copyOf(coords, coordCount);
+        ints = Arrays.copyOf(ints, intCount);
+    }
+}
@@ -0,0 +1,88 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Class 'LatencyHistogram' records durations in power of 2 buckets of microseconds, lock free, for monitoring:
+
+LatencyHistogram latency = new LatencyHistogram();
+latency.record(System.nanoTime() - start);
+double p99 = latency.percentileMillis(0.99);
+
+Percentiles are the upper bound of their bucket, at most the maximum. The getters are exposed as attributes when the
+histogram is returned by an MXBean, see RenderMetrics.
+
+*/
+
+public class LatencyHistogram {
+    private final AtomicLongArray buckets = new AtomicLongArray(40);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private volatile long maxNanos;
+    private volatile long lastNanos;
+
+    public void record(long nanos) {
+        buckets.incrementAndGet(Math.min(39, 64 - Long.numberOfLeadingZeros(nanos / 1000)));
+        count.increment();
+        totalNanos.add(nanos);
+        lastNanos = nanos;
+        if (nanos > maxNanos) maxNanos = nanos; // racy maximum is good enough for monitoring
+    }
+
+    public double percentileMillis(double p) {
+        long n = count.sum(), rank = (long) Math.ceil(p * n), seen = 0;
+        for (int i = 0; i < buckets.length() && n > 0; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) return Math.min(1L << i, maxNanos / 1000) / 1000.0;
+        }
+        return 0;
+    }
+
+    public long getCount() { return count.sum(); }
+    public double getMeanMillis() { long n = count.sum(); return n == 0 ? 0 : totalNanos.sum() / n / 1e6; }
+    public double getP50Millis() { return percentileMillis(0.5); }
+    public double getP99Millis() { return percentileMillis(0.99); }
+    public double getMaxMillis() { return maxNanos / 1e6; }
+    public double getLastMillis() { return lastNanos / 1e6; }
+
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++)
+            buckets.set(i, 0);
+        count.reset();
+        totalNanos.reset();
+        maxNanos = 0;
+        lastNanos = 0;
+    }
+
+    // text lines name_count, name_mean_ms, name_p50_ms, name_p99_ms and name_max_ms
+    public void append(StringBuilder sb, String name) {
+        sb.append(name).append("_count ").append(getCount()).append('\n');
+        sb.append(name).append("_mean_ms ").append(getMeanMillis()).append('\n');
+        sb.append(name).append("_p50_ms ").append(getP50Millis()).append('\n');
+        sb.append(name).append("_p99_ms ").append(getP99Millis()).append('\n');
+        sb.append(name).append("_max_ms ").append(getMaxMillis()).append('\n');
+    }
+}
@@ -0,0 +1,126 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.TexturePaint;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+Class 'MipPyramid' keeps pre-filtered levels of a tile, each half the size of the previous one, so that a tiling can be
+shown at any zoom factor without aliasing and at the cost of a 1:1 view:
+
+MipPyramid pyramid = new MipPyramid(tile);
+pyramid.fill(g2d, area, x, y, displaySize); // tile origin at (x, y), tile shown with size displaySize
+
+Each level is computed from the previous one by area averaging in premultiplied ARGB; as the source pixels of each level
+pixel lie within the tile, the levels are periodic as the tile itself, also for odd sizes. Method fill selects the smallest
+level not smaller than the displayed tile and fills the area with it as TexturePaint, scaled with bilinear interpolation.
+
+*/
+
+public class MipPyramid {
+    private final List<BufferedImage> levels = new ArrayList<>();
+
+    public MipPyramid(BufferedImage tile) {
+        int size = Math.min(tile.getWidth(), tile.getHeight());
+        BufferedImage level = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = level.createGraphics();
+        g2d.drawImage(tile, 0, 0, null);
+        g2d.dispose();
+        levels.add(level);
+        while (size > 1) {
+            int half = (size + 1) / 2;
+            level = downsample(level, size, half);
+            levels.add(level);
+            size = half;
+        }
+    }
+
+    public int getLevelCount() { return levels.size(); }
+    public BufferedImage getLevel(int index) { return levels.get(index); }
+
+    // smallest level with size not smaller than displaySize, level 0 when magnified
+    public BufferedImage select(double displaySize) {
+        int index = 0;
+        while (index + 1 < levels.size() && levels.get(index + 1).getWidth() >= displaySize)
+            index++;
+        return levels.get(index);
+    }
+
+    public void fill(Graphics2D g2d, Rectangle area, double x, double y, double displaySize) {
+        Object interpolation = g2d.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        if (displaySize < levels.get(0).getWidth())
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.setPaint(new TexturePaint(select(displaySize), new Rectangle2D.Double(x, y, displaySize, displaySize)));
+        g2d.fill(area);
+        if (interpolation != null)
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+    }
+
+    // area averaging from size x size to dstSize x dstSize pixels, first along rows then along columns
+    private static BufferedImage downsample(BufferedImage src, int size, int dstSize) {
+        int[] in = ((DataBufferInt) src.getRaster().getDataBuffer()).getData();
+        double scale = (double) size / dstSize;
+        float[] rows = new float[4 * dstSize * size]; // dstSize columns by size rows, 4 channels
+        for (int y = 0; y < size; y++)
+            for (int i = 0; i < dstSize; i++) {
+                double start = i * scale, end = (i + 1) * scale;
+                float a = 0, r = 0, g = 0, b = 0;
+                for (int j = (int) start; j < end; j++) {
+                    float w = (float) (Math.min(end, j + 1) - Math.max(start, j));
+                    int p = in[y * size + j];
+                    a += w * (p >>> 24); r += w * (p >> 16 & 0xFF); g += w * (p >> 8 & 0xFF); b += w * (p & 0xFF);
+                }
+                int k = 4 * (y * dstSize + i);
+                rows[k] = a; rows[k + 1] = r; rows[k + 2] = g; rows[k + 3] = b;
+            }
+
+        BufferedImage dst = new BufferedImage(dstSize, dstSize, BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] out = ((DataBufferInt) dst.getRaster().getDataBuffer()).getData();
+        float norm = (float) (1 / (scale * scale));
+        for (int i = 0; i < dstSize; i++) {
+            double start = i * scale, end = (i + 1) * scale;
+            for (int x = 0; x < dstSize; x++) {
+                float a = 0, r = 0, g = 0, b = 0;
+                for (int j = (int) start; j < end; j++) {
+                    float w = (float) (Math.min(end, j + 1) - Math.max(start, j));
+                    int k = 4 * (j * dstSize + x);
+                    a += w * rows[k]; r += w * rows[k + 1]; g += w * rows[k + 2]; b += w * rows[k + 3];
+                }
+                out[i * dstSize + x] = channel(a * norm) << 24 | channel(r * norm) << 16 | channel(g * norm) << 8 | channel(b * norm);
+            }
+        }
+        return dst;
+    }
+
+    private static int channel(float value) {
+        return Math.min(255, Math.round(value));
+    }
+}
@@ -0,0 +1,118 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/*
+Class 'PaletteRaster' renders a tile once in palette-indexed form, so that the tile can be recolored with any palette
+without rasterizing it again:
+
+BufferedImage raster = PaletteRaster.render(TileType.GREEK, size);
+BufferedImage tile = PaletteRaster.recolor(raster, colors);
+
+The raster is rendered with the basis colors black, red, green and blue in place of the 4 colors of the palette, in
+premultiplied ARGB. As antialiasing blends linearly, red, green and blue of a pixel are the weights of palette colors
+1, 2 and 3, alpha minus their sum is the weight of palette color 0. Recoloring is the weighted sum of the palette colors.
+Tile types with colors not taken from the palette (USER_MODE, INTERLOCK and VORONOI) are not supported.
+
+*/
+
+public class PaletteRaster {
+    public static final Color[] BASIS = {Color.BLACK, Color.RED, Color.GREEN, Color.BLUE};
+
+    public static boolean isSupported(TileType type) {
+        return type != TileType.USER_MODE && type != TileType.INTERLOCK && type != TileType.VORONOI;
+    }
+
+    public static BufferedImage render(TileType type, int size) {
+        if (!isSupported(type))
+            throw new IllegalArgumentException("tile type not supported: " + type);
+        BufferedImage raster = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        if (PixelKernels.isSupported(type)) {
+            PixelKernels.render(type, BASIS, size, ((DataBufferInt) raster.getRaster().getDataBuffer()).getData(), 0, size, true);
+            return raster;
+        }
+        Graphics2D g2d = raster.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        TileRenderer.drawTile(type, g2d, BASIS, 0, 0, size);
+        g2d.dispose();
+        return raster;
+    }
+
+    public static BufferedImage recolor(BufferedImage raster, Color[] colors) {
+        int width = raster.getWidth(), height = raster.getHeight();
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        int[] src = ((DataBufferInt) raster.getRaster().getDataBuffer()).getData();
+        int[] dst = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        recolor(src, dst, width * height, colors);
+        return image;
+    }
+
+    // src holds premultiplied basis pixels, dst receives non premultiplied ARGB pixels
+    public static void recolor(int[] src, int[] dst, int length, Color[] colors) {
+        int a0 = colors[0].getAlpha(), a1 = colors[1].getAlpha(), a2 = colors[2].getAlpha(), a3 = colors[3].getAlpha();
+        int r0 = colors[0].getRed() * a0, r1 = colors[1].getRed() * a1, r2 = colors[2].getRed() * a2, r3 = colors[3].getRed() * a3;
+        int g0 = colors[0].getGreen() * a0, g1 = colors[1].getGreen() * a1, g2 = colors[2].getGreen() * a2, g3 = colors[3].getGreen() * a3;
+        int b0 = colors[0].getBlue() * a0, b1 = colors[1].getBlue() * a1, b2 = colors[2].getBlue() * a2, b3 = colors[3].getBlue() * a3;
+        boolean opaque = (a0 & a1 & a2 & a3) == 255;
+        int last = 0, lastColor = 0;
+        for (int i = 0; i < length; i++) {
+            int p = src[i];
+            if (p == last && i > 0) {
+                dst[i] = lastColor;
+                continue;
+            }
+            int w1 = (p >> 16) & 0xFF, w2 = (p >> 8) & 0xFF, w3 = p & 0xFF;
+            int w0 = Math.max(0, (p >>> 24) - w1 - w2 - w3);
+            if (opaque && p >>> 24 == 255) {
+                int c = 0xFF000000 | Math.min(255, (w0 * r0 + w1 * r1 + w2 * r2 + w3 * r3 + 32512) / 65025) << 16
+                    | Math.min(255, (w0 * g0 + w1 * g1 + w2 * g2 + w3 * g3 + 32512) / 65025) << 8
+                    | Math.min(255, (w0 * b0 + w1 * b1 + w2 * b2 + w3 * b3 + 32512) / 65025);
+                dst[i] = c;
+                last = p;
+                lastColor = c;
+                continue;
+            }
+            int a = w0 * a0 + w1 * a1 + w2 * a2 + w3 * a3; // alpha * 255
+            int c;
+            if (a == 0) c = 0;
+            else {
+                long r = (long) w0 * r0 + (long) w1 * r1 + (long) w2 * r2 + (long) w3 * r3; // premultiplied red * 255 * 255
+                long g = (long) w0 * g0 + (long) w1 * g1 + (long) w2 * g2 + (long) w3 * g3;
+                long b = (long) w0 * b0 + (long) w1 * b1 + (long) w2 * b2 + (long) w3 * b3;
+                int half = a >> 1;
+                c = Math.min(255, (a + 127) / 255) << 24 | (int) Math.min(255, (r + half) / a) << 16
+                    | (int) Math.min(255, (g + half) / a) << 8 | (int) Math.min(255, (b + half) / a);
+            }
+            dst[i] = c;
+            last = p;
+            lastColor = c;
+        }
+    }
+}
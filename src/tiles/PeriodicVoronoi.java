@@ -0,0 +1,186 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.geom.Path2D;
+import java.util.Arrays;
+
+/*
+Class 'PeriodicVoronoi' computes the Voronoi diagram of a set of seeds on a torus, i.e. the diagram of a periodic tiling
+with square period. Cells are clipped only against the seeds found in growing rings of a spatial grid, until the ring is
+farther than twice the current cell radius, so the expected cost per cell is constant for uniformly distributed seeds.
+All data is kept in primitive arrays; cells of seeds close to the border extend beyond the period square.
+
+*/
+
+public class PeriodicVoronoi {
+    private final double period;
+    private final int n;
+    private final double[] xs, ys;
+    private final int[] cellStart;
+    private double[] vx, vy;
+    private final double[] bounds; // minX, minY, maxX, maxY of each cell
+
+// scratch buffers for polygon clipping
+    private double[] px = new double[32], py = new double[32], qx = new double[32], qy = new double[32];
+    private int count;
+
+    public PeriodicVoronoi(double[] seedX, double[] seedY, double period) {
+        this.period = period;
+        this.n = seedX.length;
+        xs = new double[n];
+        ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = wrap(seedX[i]);
+            ys[i] = wrap(seedY[i]);
+        }
+
+        int grid = Math.max(1, (int) Math.sqrt(n));
+        double h = period / grid;
+        int[] bucketStart = new int[grid * grid + 1];
+        int[] bucketOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            int gx = Math.min(grid - 1, (int) (xs[i] / h));
+            int gy = Math.min(grid - 1, (int) (ys[i] / h));
+            bucketOf[i] = gy * grid + gx;
+            bucketStart[bucketOf[i] + 1]++;
+        }
+        for (int b = 0; b < grid * grid; b++)
+            bucketStart[b + 1] += bucketStart[b];
+        int[] items = new int[n];
+        int[] fill = Arrays.copyOf(bucketStart, grid * grid);
+        for (int i = 0; i < n; i++)
+            items[fill[bucketOf[i]]++] = i;
+
+        cellStart = new int[n + 1];
+        bounds = new double[4 * n];
+        vx = new double[8 * n + 8];
+        vy = new double[8 * n + 8];
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            double sx = xs[i], sy = ys[i];
+            double half = period / 2;
+            count = 4;
+            px[0] = sx - half; py[0] = sy - half;
+            px[1] = sx + half; py[1] = sy - half;
+            px[2] = sx + half; py[2] = sy + half;
+            px[3] = sx - half; py[3] = sy + half;
+            double maxR = radius(sx, sy);
+
+            int gx = bucketOf[i] % grid, gy = bucketOf[i] / grid;
+            for (int r = 0; (r - 1) * h < 2 * maxR; r++) {
+                for (int dy = -r; dy <= r; dy++) {
+                    int step = (dy == -r || dy == r) ? 1 : 2 * r; // only the border of the ring
+                    for (int dx = -r; dx <= r; dx += Math.max(1, step)) {
+                        int cx = gx + dx, cy = gy + dy;
+                        int wx = Math.floorMod(cx, grid), wy = Math.floorMod(cy, grid);
+                        double shiftX = Math.floorDiv(cx, grid) * period, shiftY = Math.floorDiv(cy, grid) * period;
+                        int b = wy * grid + wx;
+                        for (int k = bucketStart[b]; k < bucketStart[b + 1]; k++) {
+                            int j = items[k];
+                            if (j == i && shiftX == 0 && shiftY == 0) continue;
+                            double nx = xs[j] + shiftX - sx, ny = ys[j] + shiftY - sy;
+                            if (nx * nx + ny * ny >= 4 * maxR * maxR) continue;
+                            clip(sx + nx * 0.5, sy + ny * 0.5, nx, ny);
+                        }
+                    }
+                }
+                maxR = radius(sx, sy);
+            }
+
+            if (total + count > vx.length) {
+                vx = Arrays.copyOf(vx, Math.max(2 * vx.length, total + count));
+                vy = Arrays.copyOf(vy, vx.length);
+            }
+            double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+            for (int k = 0; k < count; k++) {
+                vx[total + k] = px[k];
+                vy[total + k] = py[k];
+                minX = Math.min(minX, px[k]); maxX = Math.max(maxX, px[k]);
+                minY = Math.min(minY, py[k]); maxY = Math.max(maxY, py[k]);
+            }
+            bounds[4 * i] = minX; bounds[4 * i + 1] = minY; bounds[4 * i + 2] = maxX; bounds[4 * i + 3] = maxY;
+            total += count;
+            cellStart[i + 1] = total;
+        }
+        px = py = qx = qy = null;
+    }
+
+    public int getCellCount() { return n; }
+    public double getPeriod() { return period; }
+    public double getSeedX(int i) { return xs[i]; }
+    public double getSeedY(int i) { return ys[i]; }
+    public double getMinX(int i) { return bounds[4 * i]; }
+    public double getMinY(int i) { return bounds[4 * i + 1]; }
+    public double getMaxX(int i) { return bounds[4 * i + 2]; }
+    public double getMaxY(int i) { return bounds[4 * i + 3]; }
+
+    public Path2D getCell(int i) {
+        Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO, cellStart[i + 1] - cellStart[i] + 1);
+        for (int k = cellStart[i]; k < cellStart[i + 1]; k++) {
+            if (k == cellStart[i]) path.moveTo(vx[k], vy[k]);
+            else path.lineTo(vx[k], vy[k]);
+        }
+        path.closePath();
+        return path;
+    }
+
+    private double wrap(double v) {
+        v %= period;
+        return v < 0 ? v + period : v;
+    }
+
+    private double radius(double sx, double sy) {
+        double max = 0;
+        for (int k = 0; k < count; k++)
+            max = Math.max(max, (px[k] - sx) * (px[k] - sx) + (py[k] - sy) * (py[k] - sy));
+        return Math.sqrt(max);
+    }
+
+// Sutherland-Hodgman clipping of the current polygon by half plane (p - m) . n <= 0
+    private void clip(double mx, double my, double nx, double ny) {
+        if (qx.length < 2 * count) {
+            qx = new double[4 * count]; qy = new double[4 * count];
+        }
+        int out = 0;
+        double prevX = px[count - 1], prevY = py[count - 1];
+        double prevD = (prevX - mx) * nx + (prevY - my) * ny;
+        for (int k = 0; k < count; k++) {
+            double currX = px[k], currY = py[k];
+            double currD = (currX - mx) * nx + (currY - my) * ny;
+            if ((currD <= 0) != (prevD <= 0)) {
+                double t = prevD / (prevD - currD);
+                qx[out] = prevX + t * (currX - prevX);
+                qy[out++] = prevY + t * (currY - prevY);
+            }
+            if (currD <= 0) {
+                qx[out] = currX;
+                qy[out++] = currY;
+            }
+            prevX = currX; prevY = currY; prevD = currD;
+        }
+        double[] tx = px; px = qx; qx = tx;
+        double[] ty = py; py = qy; qy = ty;
+        count = out;
+    }
+}
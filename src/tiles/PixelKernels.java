@@ -0,0 +1,277 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.Color;
+import java.util.Arrays;
+
+/*
+Class 'PixelKernels' renders the simple rectilinear tiles (CHECKERED, TARTAN, DOTTEDGRID and GRIDSQRCIRCLE) per pixel
+straight into an int[] buffer, without the Java2D pipeline:
+
+PixelKernels.render(TileType.DOTTEDGRID, colors, size, pixels, offset, scanline, premultiplied);
+
+The geometry is the one of the corresponding methods of Tiles, drawn in the same order. Rectangles, lines and circles
+are composited over their bounding box only, with analytic coverage: exact for axis-aligned rectangles, from the signed
+distance to the edge for circles and diagonal half planes. Pixels are composed in premultiplied ARGB and converted to
+ARGB at the end unless premultiplied is requested; pixels not covered by the tile are transparent.
+
+*/
+
+public class PixelKernels {
+
+    public static boolean isSupported(TileType type) {
+        return type == TileType.CHECKERED || type == TileType.TARTAN || type == TileType.DOTTEDGRID || type == TileType.GRIDSQRCIRCLE;
+    }
+
+    public static void render(TileType type, Color[] colors, int size, int[] pixels, int offset, int scanline, boolean premultiplied) {
+        if (colors.length < 4)
+            throw new IllegalArgumentException("palette must have 4 colors");
+        if (scanline < size || offset < 0 || offset + (size - 1) * scanline + size > pixels.length)
+            throw new IllegalArgumentException("buffer too small for tile of size " + size);
+        Canvas canvas = new Canvas(pixels, offset, scanline, size);
+        switch (type) {
+            case CHECKERED: checkered(canvas, colors); break;
+            case TARTAN: tartan(canvas, colors); break;
+            case DOTTEDGRID: dottedGrid(canvas, colors, 10); break;
+            case GRIDSQRCIRCLE: gridSquareCircles(canvas, colors, 6); break;
+            default: throw new IllegalArgumentException("tile type not supported: " + type);
+        }
+        if (!premultiplied) canvas.unpremultiply();
+    }
+
+    // as Tiles.drawCheckeredTile
+    private static void checkered(Canvas canvas, Color[] colors) {
+        int half = canvas.size / 2;
+        if (canvas.size % 2 != 0) canvas.clear(0); // last row and column are not covered
+        for (int i = 0; i < 2; i++)
+            for (int j = 0; j < 2; j++)
+                canvas.fillRect(half * i, half * j, half * (i + 1), half * (j + 1), premultiply(i == j ? colors[1] : colors[2]));
+    }
+
+    // as Tiles.drawTartanTile, with the colors of the 3 levels of overlap computed once and each row filled in spans
+    private static void tartan(Canvas canvas, Color[] colors) {
+        int size = canvas.size, half = size / 2, quarter = half / 2;
+        int semiTransparent = premultiply(colors[1], 128);
+        int[] overlap = new int[3];
+        overlap[0] = premultiply(colors[3]);
+        for (int k = 1; k < 3; k++)
+            overlap[k] = Canvas.blend(overlap[k - 1], semiTransparent, 1);
+        int line = premultiply(colors[0]); // stroke 2 centered on row and column quarter
+        int lineColor = Canvas.blend(overlap[2], line, 1); // lines cross the top left quarter only
+        int line0 = Math.max(0, quarter - 1), line1 = Math.min(size, quarter + 1);
+        for (int y = 0; y < size; y++) {
+            int row = canvas.offset + y * canvas.scanline;
+            if (y >= line0 && y < line1) {
+                Arrays.fill(canvas.pixels, row, row + size, Canvas.blend(overlap[1], line, 1));
+                Arrays.fill(canvas.pixels, row, row + half, lineColor);
+                continue;
+            }
+            int top = y < half ? 1 : 0;
+            Arrays.fill(canvas.pixels, row, row + half, overlap[top + 1]);
+            Arrays.fill(canvas.pixels, row + half, row + size, overlap[top]);
+            Arrays.fill(canvas.pixels, row + line0, row + line1, Canvas.blend(overlap[top + 1], line, 1));
+        }
+        canvas.opaque = (overlap[0] >>> 24) == 255;
+    }
+
+    // as Tiles.drawDottedGridTile
+    private static void dottedGrid(Canvas canvas, Color[] colors, int n) {
+        canvas.clear(premultiply(colors[0]));
+        int splitLayer = 1;
+        double gap = canvas.size * 0.25 / n;
+        double d = 3 * gap, r = d / 2;
+        int inner = premultiply(colors[1]), outer = premultiply(colors[2]);
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                double cx = gap / 2 + col * (d + gap) + r;
+                double cy = gap / 2 + row * (d + gap) + r;
+                int layer = Math.min(Math.min(row, col), Math.min(n - 1 - row, n - 1 - col));
+                canvas.fillDisk(cx, cy, r, 0, 0, 0, 0, layer > splitLayer ? inner : outer);
+                if (layer == splitLayer) { // sector towards the inner layers, as quadrant or half of the disk
+                    double nx = col == layer ? 1 : col == n - 1 - layer ? -1 : 0;
+                    double ny = row == layer ? 1 : row == n - 1 - layer ? -1 : 0;
+                    if (nx != 0 && ny != 0) canvas.fillDisk(cx, cy, r, nx, 0, 0, ny, inner);
+                    else canvas.fillDisk(cx, cy, r, nx, ny, 0, 0, inner);
+                }
+            }
+        }
+    }
+
+    // as Tiles.drawGridSquareCircles
+    private static void gridSquareCircles(Canvas canvas, Color[] colors, int n) {
+        int size = canvas.size, half = size / 2;
+        canvas.clear(premultiply(colors[3]));
+        int tileSize = half / (n + 1);
+        double w = Math.max(1, tileSize / 12);
+        int color1 = premultiply(colors[1]), color2 = premultiply(colors[2]);
+        int r = tileSize / 7;
+        gridSquareCircles(canvas, color1, color2, n, tileSize, w, tileSize / 2, tileSize / 2, r, true);
+        gridSquareCircles(canvas, color1, color2, n, tileSize, w, half + tileSize / 2, tileSize / 2, r, false);
+        gridSquareCircles(canvas, color1, color2, n, tileSize, w, tileSize / 2, half + tileSize / 2, r, false);
+        gridSquareCircles(canvas, color1, color2, n, tileSize, w, half + tileSize / 2, half + tileSize / 2, r, true);
+    }
+
+    private static void gridSquareCircles(Canvas canvas, int color1, int color2, int n, int tileSize, double w, int offsetX, int offsetY, int r, boolean mirror) {
+        double hw = w / 2; // lines of width w with square caps
+        for (int row = 0; row <= n; row++) {
+            int y = offsetY + row * tileSize;
+            for (int col = 0; col <= n; col++) {
+                int x = offsetX + col * tileSize;
+                int color = (row + col) % 2 == 0 ? color1 : color2;
+                if (col < n)
+                    canvas.fillRect(x - hw, y - hw, x + tileSize + hw, y + hw, color);
+                if (mirror) {
+                    if (row > 0)
+                        canvas.fillRect(x - hw, y - tileSize - hw, x + hw, y + hw, color);
+                } else {
+                    if (row < n)
+                        canvas.fillRect(x - hw, y - hw, x + hw, y + tileSize + hw, color);
+                }
+            }
+        }
+
+        if (r == 0) return;
+        double s = Math.sqrt(0.5); // half disks split along the diagonal at 45 (135 if mirror) degrees
+        double nx = -s, ny = mirror ? s : -s; // normal towards the half starting at angle 0
+        boolean invert = false;
+        for (int row = 0; row <= n; row++) {
+            int cy = offsetY + row * tileSize;
+            for (int col = 0; col <= n; col++) {
+                int cx = offsetX + col * tileSize;
+                canvas.fillDisk(cx, cy, r, nx, ny, 0, 0, invert ? color1 : color2);
+                canvas.fillDisk(cx, cy, r, -nx, -ny, 0, 0, invert ? color2 : color1);
+                invert = !invert;
+            }
+        }
+    }
+
+    private static int premultiply(Color color) {
+        return premultiply(color, color.getAlpha());
+    }
+
+    private static int premultiply(Color color, int a) {
+        return a << 24 | (color.getRed() * a + 127) / 255 << 16 | (color.getGreen() * a + 127) / 255 << 8 | (color.getBlue() * a + 127) / 255;
+    }
+
+    private static final class Canvas {
+        final int[] pixels;
+        final int offset, scanline, size;
+        final float[] coverX; // coverage of the columns of the current rectangle
+        boolean opaque = true; // compositing over opaque pixels keeps them opaque
+
+        Canvas(int[] pixels, int offset, int scanline, int size) {
+            this.pixels = pixels;
+            this.offset = offset;
+            this.scanline = scanline;
+            this.size = size;
+            coverX = new float[size];
+        }
+
+        void clear(int color) {
+            opaque = (color >>> 24) == 255;
+            for (int y = 0; y < size; y++)
+                Arrays.fill(pixels, offset + y * scanline, offset + y * scanline + size, color);
+        }
+
+        // rectangle [x0, x1) x [y0, y1), coverage of each pixel is the product of its overlaps in x and y
+        void fillRect(double x0, double y0, double x1, double y1, int color) {
+            int px0 = Math.max(0, (int) Math.floor(x0)), px1 = Math.min(size, (int) Math.ceil(x1));
+            int py0 = Math.max(0, (int) Math.floor(y0)), py1 = Math.min(size, (int) Math.ceil(y1));
+            if (px0 >= px1 || py0 >= py1) return;
+            boolean solidX = true;
+            for (int x = px0; x < px1; x++) {
+                coverX[x] = (float) (Math.min(x1, x + 1) - Math.max(x0, x));
+                solidX &= coverX[x] >= 1;
+            }
+            for (int y = py0; y < py1; y++) {
+                float coverY = (float) (Math.min(y1, y + 1) - Math.max(y0, y));
+                int row = offset + y * scanline;
+                if (solidX && coverY >= 1 && color >>> 24 == 255)
+                    Arrays.fill(pixels, row + px0, row + px1, color);
+                else for (int x = px0; x < px1; x++)
+                    pixels[row + x] = blend(pixels[row + x], color, coverX[x] * coverY);
+            }
+        }
+
+        // disk of center (cx, cy) and radius r, intersected with the half planes (p - c) . (nx, ny) >= 0 if (nx, ny) != 0;
+        // in each row only the pixels within r + 0.5 of the center are visited, those within r - 0.5 are fully covered
+        void fillDisk(double cx, double cy, double r, double nx1, double ny1, double nx2, double ny2, int color) {
+            int py0 = Math.max(0, (int) Math.floor(cy - r)), py1 = Math.min(size, (int) Math.ceil(cy + r));
+            boolean plane1 = nx1 != 0 || ny1 != 0, plane2 = nx2 != 0 || ny2 != 0;
+            boolean solid = !plane1 && !plane2 && (color >>> 24) == 255;
+            double outer = (r + 0.5) * (r + 0.5), inner = r - 0.5;
+            for (int y = py0; y < py1; y++) {
+                double dy = y + 0.5 - cy;
+                if (dy * dy >= outer) continue;
+                double reach = Math.sqrt(outer - dy * dy);
+                int px0 = Math.max(0, (int) Math.floor(cx - reach)), px1 = Math.min(size, (int) Math.ceil(cx + reach));
+                double core = inner > Math.abs(dy) ? Math.sqrt(inner * inner - dy * dy) : -1; // |dx| <= core is covered
+                int row = offset + y * scanline;
+                for (int x = px0; x < px1; x++) {
+                    double dx = x + 0.5 - cx;
+                    if (dx > -core && solid) { // fully covered span
+                        int end = Math.min(px1, (int) Math.floor(cx + core - 0.5) + 1);
+                        if (end > x) {
+                            Arrays.fill(pixels, row + x, row + end, color);
+                            x = end - 1;
+                            continue;
+                        }
+                    }
+                    double cover = Math.abs(dx) <= core ? 1 : clamp(r - Math.sqrt(dx * dx + dy * dy) + 0.5);
+                    if (plane1) cover *= clamp(dx * nx1 + dy * ny1 + 0.5);
+                    if (plane2) cover *= clamp(dx * nx2 + dy * ny2 + 0.5);
+                    if (cover > 0) pixels[row + x] = blend(pixels[row + x], color, (float) cover);
+                }
+            }
+        }
+
+        void unpremultiply() {
+            if (opaque) return;
+            for (int y = 0; y < size; y++) {
+                int row = offset + y * scanline;
+                for (int x = row; x < row + size; x++) {
+                    int p = pixels[x], a = p >>> 24;
+                    if (a != 255 && a != 0)
+                        pixels[x] = a << 24 | Math.min(255, ((p >> 16 & 0xFF) * 255 + a / 2) / a) << 16
+                            | Math.min(255, ((p >> 8 & 0xFF) * 255 + a / 2) / a) << 8 | Math.min(255, ((p & 0xFF) * 255 + a / 2) / a);
+                }
+            }
+        }
+
+        private static double clamp(double value) {
+            return value <= 0 ? 0 : value >= 1 ? 1 : value;
+        }
+
+        // source over in premultiplied ARGB, source scaled by coverage
+        static int blend(int dst, int src, float cover) {
+            if (cover >= 1 && src >>> 24 == 255) return src;
+            float sa = (src >>> 24) * cover, keep = 1 - sa / 255;
+            int a = Math.round(sa + (dst >>> 24) * keep);
+            int r = Math.round((src >> 16 & 0xFF) * cover + (dst >> 16 & 0xFF) * keep);
+            int g = Math.round((src >> 8 & 0xFF) * cover + (dst >> 8 & 0xFF) * keep);
+            int b = Math.round((src & 0xFF) * cover + (dst & 0xFF) * keep);
+            return a << 24 | r << 16 | g << 8 | b;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.geom.Path2D;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+Class 'PolygonFractal' generates the line segments of the polygon fractal as primitive coordinates (x1, y1, x2, y2):
+each polygon is shrunk around its center by the reduction factor, the outer polygon, the inner polygon and the lines
+joining them are drawn, then the same is applied to the inner polygon and to each trapezoid between the two polygons.
+Recursion stops at the given depth or when polygons become smaller than a pixel; large subtrees are generated in
+parallel in the common ForkJoin pool and the segments are returned as a single path. Vertices are truncated to integer
+coordinates, as by the former recursive drawLine version.
+
+*/
+
+@SuppressWarnings("serial") // tasks are never serialized
+public class PolygonFractal extends RecursiveTask<float[]> {
+    private static final int SEQUENTIAL_NODES = 2048; // subtrees smaller than this are generated by the current thread
+    private static final double MIN_SIZE = 1.0; // polygons smaller than this, in pixels, are not drawn
+
+    private final double[] xs, ys;
+    private final int depth;
+    private final double reductionFactor;
+
+    private PolygonFractal(double[] xs, double[] ys, int depth, double reductionFactor) {
+        this.xs = xs;
+        this.ys = ys;
+        this.depth = depth;
+        this.reductionFactor = reductionFactor;
+    }
+
+    public static Path2D.Float createPath(double[] xs, double[] ys, int depth, double reductionFactor) {
+        float[] segments = ForkJoinPool.commonPool().invoke(new PolygonFractal(xs, ys, depth, reductionFactor));
+        Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, segments.length / 2 + xs.length + 1);
+        if (depth > 0) {
+            path.moveTo((int) xs[0], (int) ys[0]);
+            for (int i = 1; i < xs.length; i++)
+                path.lineTo((int) xs[i], (int) ys[i]);
+            path.closePath();
+        }
+        for (int i = 0; i < segments.length; i += 4) {
+            path.moveTo(segments[i], segments[i + 1]);
+            path.lineTo(segments[i + 2], segments[i + 3]);
+        }
+        return path;
+    }
+
+    @Override
+    protected float[] compute() {
+        if (depth == 0 || isSubPixel(xs, ys)) return new float[0];
+
+        int n = xs.length;
+        if (estimateNodes(depth, n) <= SEQUENTIAL_NODES) {
+            Segments out = new Segments();
+            generate(xs, ys, depth, out);
+            return out.toArray();
+        }
+
+        double[] ix = new double[n], iy = new double[n];
+        Segments own = new Segments();
+        shrinkAndDraw(xs, ys, ix, iy, own);
+
+        PolygonFractal[] children = new PolygonFractal[n + 1];
+        children[0] = new PolygonFractal(ix, iy, depth - 1, reductionFactor);
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            children[i + 1] = new PolygonFractal(new double[]{xs[i], xs[j], ix[j], ix[i]}, new double[]{ys[i], ys[j], iy[j], iy[i]}, depth - 1, reductionFactor);
+        }
+        invokeAll(children);
+
+        float[] result = own.toArray();
+        for (PolygonFractal child : children) {
+            float[] s = child.join();
+            int length = result.length;
+            result = Arrays.copyOf(result, length + s.length);
+            System.arraycopy(s, 0, result, length, s.length);
+        }
+        return result;
+    }
+
+    private void generate(double[] xs, double[] ys, int depth, Segments out) {
+        if (depth == 0 || isSubPixel(xs, ys)) return;
+
+        int n = xs.length;
+        double[] ix = new double[n], iy = new double[n];
+        shrinkAndDraw(xs, ys, ix, iy, out);
+        generate(ix, iy, depth - 1, out);
+
+        double[] tx = new double[4], ty = new double[4];
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            tx[0] = xs[i]; tx[1] = xs[j]; tx[2] = ix[j]; tx[3] = ix[i];
+            ty[0] = ys[i]; ty[1] = ys[j]; ty[2] = iy[j]; ty[3] = iy[i];
+            generate(tx, ty, depth - 1, out);
+        }
+    }
+
+// computes the inner polygon (ix, iy) and adds its segments and the lines joining it to the outer polygon,
+// the outer polygon has been already drawn by the parent (see createPath for the root)
+    private void shrinkAndDraw(double[] xs, double[] ys, double[] ix, double[] iy, Segments out) {
+        int n = xs.length;
+        double cx = 0, cy = 0;
+        for (int i = 0; i < n; i++) {
+            cx += xs[i];
+            cy += ys[i];
+        }
+        cx /= n;
+        cy /= n;
+        for (int i = 0; i < n; i++) {
+            ix[i] = cx + (xs[i] - cx) * reductionFactor;
+            iy[i] = cy + (ys[i] - cy) * reductionFactor;
+        }
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            out.add(xs[i], ys[i], ix[i], iy[i]);
+            out.add(ix[i], iy[i], ix[j], iy[j]);
+        }
+    }
+
+    private static boolean isSubPixel(double[] xs, double[] ys) {
+        double minX = xs[0], maxX = xs[0], minY = ys[0], maxY = ys[0];
+        for (int i = 1; i < xs.length; i++) {
+            minX = Math.min(minX, xs[i]); maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]); maxY = Math.max(maxY, ys[i]);
+        }
+        return maxX - minX < MIN_SIZE && maxY - minY < MIN_SIZE;
+    }
+
+// approximate number of polygons of a subtree, as most descendants are trapezoids with 5 children
+    private static long estimateNodes(int depth, int sides) {
+        long nodes = 1, level = sides + 1;
+        for (int d = 1; d < depth && nodes <= SEQUENTIAL_NODES; d++) {
+            nodes += level;
+            level *= 5;
+        }
+        return nodes;
+    }
+
+    private static class Segments {
+        float[] data = new float[256];
+        int count;
+
+        void add(double x1, double y1, double x2, double y2) {
+            if (count + 4 > data.length) data = Arrays.copyOf(data, data.length * 2);
+            data[count++] = (int) x1;
+            data[count++] = (int) y1;
+            data[count++] = (int) x2;
+            data[count++] = (int) y2;
+        }
+
+        float[] toArray() {
+            return Arrays.copyOf(data, count);
+        }
+    }
+}
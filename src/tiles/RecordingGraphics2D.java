@@ -0,0 +1,435 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.util.Map;
+
+/*
+Class 'RecordingGraphics2D' is a Graphics2D that records fill, draw, color, stroke and clip operations into a DisplayList
+instead of rasterizing them. Shapes are recorded in device space multiplied by the normalization factor, i.e. 1/size
+to record a tile of the given size as a tile of size 1.
+Colors matching the RGB of a color of the palette are recorded as palette index, other colors are recorded literally.
+Strokes are recorded as width, cap, join and miter limit, dashes are ignored; with a non uniform transform a draw is
+recorded as fill of the stroked outline. Text is recorded as glyph outlines, images and non color paints are not supported.
+
+*/
+
+public class RecordingGraphics2D extends Graphics2D {
+    private final DisplayList list;
+    private final Color[] palette;
+    private final AffineTransform base;
+    private final Graphics2D scratch; // for fonts, hints and device configuration
+
+    private AffineTransform transform = new AffineTransform();
+    private Shape clip; // in device space
+    private Color color = Color.BLACK;
+    private Color background = Color.BLACK;
+    private Stroke stroke = new BasicStroke();
+    private Composite composite;
+    private Font font;
+
+    private Color recordedColor;
+    private Stroke recordedStroke;
+    private float recordedScale;
+
+    public RecordingGraphics2D(DisplayList list, Color[] palette, double normalization) {
+        this.list = list;
+        this.palette = palette;
+        base = AffineTransform.getScaleInstance(normalization, normalization);
+        scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        composite = scratch.getComposite();
+        font = scratch.getFont();
+    }
+
+    private RecordingGraphics2D(RecordingGraphics2D g) {
+        list = g.list;
+        palette = g.palette;
+        base = g.base;
+        scratch = (Graphics2D) g.scratch.create();
+        transform = new AffineTransform(g.transform);
+        clip = g.clip;
+        color = g.color;
+        background = g.background;
+        stroke = g.stroke;
+        composite = g.composite;
+        font = g.font;
+        recordedColor = g.recordedColor;
+        recordedStroke = g.recordedStroke;
+        recordedScale = g.recordedScale;
+    }
+
+    private AffineTransform deviceTransform() {
+        AffineTransform t = new AffineTransform(base);
+        t.concatenate(transform);
+        return t;
+    }
+
+    private void recordColor() {
+        if (color.equals(recordedColor)) return;
+        int rgb = color.getRGB() & 0xFFFFFF, index = -1;
+        for (int k = 0; k < palette.length && index < 0; k++)
+            if ((palette[k].getRGB() & 0xFFFFFF) == rgb) index = k;
+        list.addColor(index, index < 0 ? color.getRGB() : color.getAlpha() << 24);
+        recordedColor = color;
+    }
+
+    @Override
+    public void fill(Shape s) {
+        recordColor();
+        list.addPath(DisplayList.FILL, s, deviceTransform());
+    }
+
+    @Override
+    public void draw(Shape s) {
+        AffineTransform device = deviceTransform();
+        double det = transform.getDeterminant();
+        boolean uniform = transform.getShearX() == -transform.getShearY() && transform.getScaleX() == transform.getScaleY()
+                || transform.getShearX() == transform.getShearY() && transform.getScaleX() == -transform.getScaleY();
+        if (!(stroke instanceof BasicStroke) || !uniform || det == 0) {
+            fill(stroke.createStrokedShape(s));
+            return;
+        }
+        float scale = (float) (Math.sqrt(Math.abs(det)) * base.getScaleX());
+        if (stroke != recordedStroke || scale != recordedScale) {
+            BasicStroke bs = (BasicStroke) stroke;
+            list.addStroke(bs.getLineWidth() * scale, bs.getEndCap(), bs.getLineJoin(), bs.getMiterLimit());
+            recordedStroke = stroke;
+            recordedScale = scale;
+        }
+        recordColor();
+        list.addPath(DisplayList.DRAW, s, device);
+    }
+
+    @Override
+    public void setClip(Shape s) {
+        if (s == null) {
+            clip = null;
+            list.addNoClip();
+        } else {
+            clip = transform.createTransformedShape(s);
+            list.addPath(DisplayList.CLIP, clip, base);
+        }
+    }
+
+    @Override
+    public void clip(Shape s) {
+        if (clip == null) {
+            setClip(s);
+            return;
+        }
+        Area area = new Area(clip);
+        area.intersect(new Area(transform.createTransformedShape(s)));
+        clip = area;
+        list.addPath(DisplayList.CLIP, clip, base);
+    }
+
+    @Override
+    public Shape getClip() {
+        if (clip == null) return null;
+        try {
+            return transform.createInverse().createTransformedShape(clip);
+        } catch (NoninvertibleTransformException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Rectangle getClipBounds() {
+        Shape c = getClip();
+        return c == null ? null : c.getBounds();
+    }
+
+    @Override
+    public void clipRect(int x, int y, int width, int height) { clip(new Rectangle(x, y, width, height)); }
+
+    @Override
+    public void setClip(int x, int y, int width, int height) { setClip(new Rectangle(x, y, width, height)); }
+
+    @Override
+    public Graphics create() { return new RecordingGraphics2D(this); }
+
+    @Override
+    public void dispose() { scratch.dispose(); }
+
+// colors, strokes and attributes
+
+    @Override
+    public Color getColor() { return color; }
+
+    @Override
+    public void setColor(Color c) { if (c != null) color = c; }
+
+    @Override
+    public Paint getPaint() { return color; }
+
+    @Override
+    public void setPaint(Paint paint) {
+        if (paint instanceof Color) color = (Color) paint;
+        else if (paint != null) throw new UnsupportedOperationException("only colors can be recorded");
+    }
+
+    @Override
+    public Stroke getStroke() { return stroke; }
+
+    @Override
+    public void setStroke(Stroke s) { stroke = s; }
+
+    @Override
+    public Composite getComposite() { return composite; }
+
+    @Override
+    public void setComposite(Composite comp) { composite = comp; }
+
+    @Override
+    public Color getBackground() { return background; }
+
+    @Override
+    public void setBackground(Color color) { background = color; }
+
+    @Override
+    public void setPaintMode() { }
+
+    @Override
+    public void setXORMode(Color c1) { throw new UnsupportedOperationException("XOR mode cannot be recorded"); }
+
+    @Override
+    public Font getFont() { return font; }
+
+    @Override
+    public void setFont(Font font) { if (font != null) this.font = font; }
+
+    @Override
+    public FontMetrics getFontMetrics(Font f) { return scratch.getFontMetrics(f); }
+
+    @Override
+    public FontRenderContext getFontRenderContext() { return scratch.getFontRenderContext(); }
+
+    @Override
+    public GraphicsConfiguration getDeviceConfiguration() { return scratch.getDeviceConfiguration(); }
+
+    @Override
+    public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) { scratch.setRenderingHint(hintKey, hintValue); }
+
+    @Override
+    public Object getRenderingHint(RenderingHints.Key hintKey) { return scratch.getRenderingHint(hintKey); }
+
+    @Override
+    public void setRenderingHints(Map<?, ?> hints) { scratch.setRenderingHints(hints); }
+
+    @Override
+    public void addRenderingHints(Map<?, ?> hints) { scratch.addRenderingHints(hints); }
+
+    @Override
+    public RenderingHints getRenderingHints() { return scratch.getRenderingHints(); }
+
+// transform
+
+    @Override
+    public void translate(int x, int y) { transform.translate(x, y); }
+
+    @Override
+    public void translate(double tx, double ty) { transform.translate(tx, ty); }
+
+    @Override
+    public void rotate(double theta) { transform.rotate(theta); }
+
+    @Override
+    public void rotate(double theta, double x, double y) { transform.rotate(theta, x, y); }
+
+    @Override
+    public void scale(double sx, double sy) { transform.scale(sx, sy); }
+
+    @Override
+    public void shear(double shx, double shy) { transform.shear(shx, shy); }
+
+    @Override
+    public void transform(AffineTransform tx) { transform.concatenate(tx); }
+
+    @Override
+    public void setTransform(AffineTransform tx) { transform = new AffineTransform(tx); }
+
+    @Override
+    public AffineTransform getTransform() { return new AffineTransform(transform); }
+
+// shapes
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) { draw(new Line2D.Float(x1, y1, x2, y2)); }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) { fill(new Rectangle(x, y, width, height)); }
+
+    @Override
+    public void drawRect(int x, int y, int width, int height) { draw(new Rectangle(x, y, width, height)); }
+
+    @Override
+    public void clearRect(int x, int y, int width, int height) {
+        Color c = color;
+        color = background;
+        fillRect(x, y, width, height);
+        color = c;
+    }
+
+    @Override
+    public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        draw(new RoundRectangle2D.Float(x, y, width, height, arcWidth, arcHeight));
+    }
+
+    @Override
+    public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        fill(new RoundRectangle2D.Float(x, y, width, height, arcWidth, arcHeight));
+    }
+
+    @Override
+    public void drawOval(int x, int y, int width, int height) { draw(new Ellipse2D.Float(x, y, width, height)); }
+
+    @Override
+    public void fillOval(int x, int y, int width, int height) { fill(new Ellipse2D.Float(x, y, width, height)); }
+
+    @Override
+    public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+        draw(new Arc2D.Float(x, y, width, height, startAngle, arcAngle, Arc2D.OPEN));
+    }
+
+    @Override
+    public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+        fill(new Arc2D.Float(x, y, width, height, startAngle, arcAngle, Arc2D.PIE));
+    }
+
+    @Override
+    public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+        if (nPoints < 1) return;
+        Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, nPoints);
+        path.moveTo(xPoints[0], yPoints[0]);
+        for (int i = 1; i < nPoints; i++)
+            path.lineTo(xPoints[i], yPoints[i]);
+        draw(path);
+    }
+
+    @Override
+    public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) { draw(new Polygon(xPoints, yPoints, nPoints)); }
+
+    @Override
+    public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) { fill(new Polygon(xPoints, yPoints, nPoints)); }
+
+    @Override
+    public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+        if (onStroke) s = stroke.createStrokedShape(s);
+        return transform.createTransformedShape(s).intersects(rect);
+    }
+
+// text is recorded as outlines
+
+    @Override
+    public void drawString(String str, int x, int y) { drawString(str, (float) x, (float) y); }
+
+    @Override
+    public void drawString(String str, float x, float y) {
+        drawGlyphVector(font.createGlyphVector(getFontRenderContext(), str), x, y);
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, int x, int y) { drawString(iterator, (float) x, (float) y); }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+        StringBuilder sb = new StringBuilder();
+        for (char c = iterator.first(); c != AttributedCharacterIterator.DONE; c = iterator.next())
+            sb.append(c);
+        drawString(sb.toString(), x, y);
+    }
+
+    @Override
+    public void drawGlyphVector(GlyphVector g, float x, float y) { fill(g.getOutline(x, y)); }
+
+// images cannot be recorded
+
+    @Override
+    public void copyArea(int x, int y, int width, int height, int dx, int dy) { throw unsupportedImage(); }
+
+    @Override
+    public boolean drawImage(Image img, AffineTransform xform, ImageObserver obs) { throw unsupportedImage(); }
+
+    @Override
+    public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) { throw unsupportedImage(); }
+
+    @Override
+    public void drawRenderedImage(RenderedImage img, AffineTransform xform) { throw unsupportedImage(); }
+
+    @Override
+    public void drawRenderableImage(RenderableImage img, AffineTransform xform) { throw unsupportedImage(); }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, ImageObserver observer) { throw unsupportedImage(); }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) { throw unsupportedImage(); }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) { throw unsupportedImage(); }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, Color bgcolor, ImageObserver observer) { throw unsupportedImage(); }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, ImageObserver observer) { throw unsupportedImage(); }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, Color bgcolor, ImageObserver observer) { throw unsupportedImage(); }
+
+    private static UnsupportedOperationException unsupportedImage() {
+        return new UnsupportedOperationException("images cannot be recorded");
+    }
+}
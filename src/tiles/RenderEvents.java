@@ -0,0 +1,84 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+Class 'RenderEvents' holds the JDK Flight Recorder events of the application, so that renders, cache invalidations,
+flood fills and exports show up in a recording next to GC and thread events:
+
+java -XX:StartFlightRecording=filename=tiling.jfr -jar ...
+jfr print --categories SquareTiling tiling.jfr
+
+Events are committed only while a recording with them enabled is running, otherwise they cost a field check.
+
+*/
+
+public class RenderEvents {
+
+    @Name("squaretiling.TileRender")
+    @Label("Tile Render")
+    @Category("SquareTiling")
+    @Description("Tile rendered or loaded from the disk cache on a miss of the tile cache")
+    public static final class TileRender extends Event {
+        @Label("Tile Type") public String tileType;
+        @Label("Size") public int size;
+        @Label("From Disk") public boolean fromDisk;
+        @Label("Allocated") @DataAmount public long allocatedBytes;
+    }
+
+    @Name("squaretiling.CacheInvalidation")
+    @Label("Cache Invalidation")
+    @Category("SquareTiling")
+    @Description("Tile shown by the tiling panel discarded, e.g. after a change of pattern, size or colors")
+    public static final class CacheInvalidation extends Event {
+        @Label("Tile Type") public String tileType;
+        @Label("Size") public int size;
+    }
+
+    @Name("squaretiling.FloodFill")
+    @Label("Flood Fill")
+    @Category("SquareTiling")
+    public static final class FloodFill extends Event {
+        @Label("X") public int x;
+        @Label("Y") public int y;
+        @Label("Spans") public int spans;
+    }
+
+    @Name("squaretiling.Export")
+    @Label("Export")
+    @Category("SquareTiling")
+    public static final class Export extends Event {
+        @Label("Pattern") public String pattern;
+        @Label("Width") public int width;
+        @Label("Height") public int height;
+        @Label("Supersampling") public int supersampling;
+        @Label("Threads") public int threads;
+    }
+}
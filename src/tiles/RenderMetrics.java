@@ -0,0 +1,161 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/*
+Class 'RenderMetrics' collects render latencies per tile type, allocated bytes, frame times and cache statistics of
+the process, and exposes them through JMX (e.g. in JConsole under squaretiling:type=RenderMetrics):
+
+RenderMetrics.register(tileCache);
+RenderMetrics metrics = RenderMetrics.get();
+metrics.getRenderLatency().get("GREEK").getP99Millis();
+
+Renders and reads of the disk tier are recorded by TileCache on every miss of the memory tier, in separate histograms,
+the other latencies by the application. Allocated bytes are measured with the allocation counter of the thread calling
+getOrRender (com.sun.management.ThreadMXBean, where supported by the JVM), so allocations of other threads working for
+the render, such as the ForkJoin pool of PolygonFractal or the band threads of BandRenderer, are not counted.
+
+*/
+
+public class RenderMetrics implements RenderMetricsMXBean {
+    private static final RenderMetrics instance = new RenderMetrics();
+    private static final Logger logger = Logger.getLogger(RenderMetrics.class.getName());
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private static final boolean allocationSupported = threads instanceof com.sun.management.ThreadMXBean
+        && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported();
+
+    private final EnumMap<TileType, LatencyHistogram> renderLatency = new EnumMap<>(TileType.class);
+    private final AtomicLongArray renderAllocated = new AtomicLongArray(TileType.values().length);
+    private final LatencyHistogram diskLatency = new LatencyHistogram();
+    private final LatencyHistogram frameLatency = new LatencyHistogram();
+    private final LatencyHistogram updateLatency = new LatencyHistogram();
+    private final LatencyHistogram floodFillLatency = new LatencyHistogram();
+    private final LatencyHistogram exportLatency = new LatencyHistogram();
+    private final LongAdder cacheInvalidations = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private volatile TileCache cache;
+    private boolean registered;
+
+    private RenderMetrics() {
+        for (TileType type : TileType.values())
+            renderLatency.put(type, new LatencyHistogram());
+    }
+
+    public static RenderMetrics get() { return instance; }
+
+    // registers the MBean once, cache is the tile cache whose statistics are reported
+    public static synchronized void register(TileCache cache) {
+        instance.cache = cache;
+        if (instance.registered) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(instance, new ObjectName("squaretiling:type=RenderMetrics"));
+            instance.registered = true;
+        } catch (JMException ex) {
+            logger.log(Level.WARNING, "cannot register the RenderMetrics MBean, metrics are not available through JMX", ex);
+        }
+    }
+
+    // bytes allocated so far by the current thread only, -1 if not supported
+    public static long allocatedBytes() {
+        return allocationSupported ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    public void recordRender(TileType type, int size, long nanos, long allocated, boolean fromDisk) {
+        if (fromDisk) {
+            diskLatency.record(nanos);
+            diskHits.increment();
+        } else {
+            renderLatency.get(type).record(nanos);
+            if (allocated > 0) renderAllocated.addAndGet(type.ordinal(), allocated);
+        }
+    }
+
+    public void recordFrame(long nanos) { frameLatency.record(nanos); }
+    public void recordUpdate(long nanos) { updateLatency.record(nanos); }
+    public void recordFloodFill(long nanos) { floodFillLatency.record(nanos); }
+    public void recordExport(long nanos) { exportLatency.record(nanos); }
+    public void recordInvalidation() { cacheInvalidations.increment(); }
+
+    @Override
+    public Map<String, LatencyHistogram> getRenderLatency() {
+        Map<String, LatencyHistogram> map = new LinkedHashMap<>();
+        for (Map.Entry<TileType, LatencyHistogram> e : renderLatency.entrySet())
+            if (e.getValue().getCount() > 0) map.put(e.getKey().name(), e.getValue());
+        return map;
+    }
+
+    @Override
+    public Map<String, Long> getRenderAllocatedBytes() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (TileType type : TileType.values())
+            if (renderAllocated.get(type.ordinal()) > 0) map.put(type.name(), renderAllocated.get(type.ordinal()));
+        return map;
+    }
+
+    public LatencyHistogram getRenderLatency(TileType type) { return renderLatency.get(type); }
+
+    @Override public LatencyHistogram getDiskLatency() { return diskLatency; }
+    @Override public LatencyHistogram getFrameLatency() { return frameLatency; }
+    @Override public LatencyHistogram getUpdateLatency() { return updateLatency; }
+    @Override public LatencyHistogram getFloodFillLatency() { return floodFillLatency; }
+    @Override public LatencyHistogram getExportLatency() { return exportLatency; }
+    @Override public long getCacheInvalidations() { return cacheInvalidations.sum(); }
+    @Override public long getDiskHits() { return diskHits.sum(); }
+    @Override public long getCacheHits() { return cache != null ? cache.getHits() : 0; }
+    @Override public long getCacheMisses() { return cache != null ? cache.getMisses() : 0; }
+    @Override public long getCacheBytes() { return cache != null ? cache.getBytes() : 0; }
+    @Override public int getCacheEntries() { return cache != null ? cache.size() : 0; }
+
+    @Override
+    public long getDiskCacheBytes() {
+        TileCache c = cache;
+        return c != null && c.getDiskCache() != null ? c.getDiskCache().getBytes() : 0;
+    }
+
+    @Override
+    public void reset() {
+        for (TileType type : TileType.values()) {
+            renderLatency.get(type).reset();
+            renderAllocated.set(type.ordinal(), 0);
+        }
+        diskLatency.reset();
+        frameLatency.reset();
+        updateLatency.reset();
+        floodFillLatency.reset();
+        exportLatency.reset();
+        cacheInvalidations.reset();
+        diskHits.reset();
+    }
+}
@@ -0,0 +1,49 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.util.Map;
+
+/*
+Interface 'RenderMetricsMXBean' is the management interface of RenderMetrics, registered as
+squaretiling:type=RenderMetrics in the platform MBean server; see RenderMetrics.
+
+*/
+
+public interface RenderMetricsMXBean {
+    Map<String, LatencyHistogram> getRenderLatency(); // per tile type, renders on a miss of both tiers of the tile cache
+    Map<String, Long> getRenderAllocatedBytes(); // per tile type, bytes allocated by the thread calling the render only
+    LatencyHistogram getDiskLatency(); // reads of the disk tier on a miss of the memory tier
+    LatencyHistogram getFrameLatency();
+    LatencyHistogram getUpdateLatency();
+    LatencyHistogram getFloodFillLatency();
+    LatencyHistogram getExportLatency();
+    long getCacheInvalidations();
+    long getDiskHits();
+    long getCacheHits();
+    long getCacheMisses();
+    long getCacheBytes();
+    int getCacheEntries();
+    long getDiskCacheBytes();
+    void reset();
+}
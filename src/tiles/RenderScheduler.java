@@ -0,0 +1,198 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+
+/*
+Class 'RenderScheduler' renders tiles on background daemon threads, with a single foreground request and a bounded
+queue of low priority prefetch requests:
+
+RenderScheduler scheduler = new RenderScheduler(source, threads, maxPrefetch);
+CompletableFuture<BufferedImage> tile = scheduler.submit(type, colors, size);
+scheduler.prefetch(type, colors, size + 1);
+CompletableFuture<BufferedImage> preview = scheduler.submitPreview(type, colors, size / 4);
+
+Foreground requests are coalesced in a latest-wins slot that workers read when they start: a request not yet started
+is replaced by the next one, and is started only once the slot has been filled for DEBOUNCE_MS, so that bursts of
+events as from a slider render one tile per interval and not every intermediate one. A request still rendering when
+another tile is submitted is superseded: its future is cancelled and its result dropped; a request for the tile being
+rendered joins the running one. A preview request, e.g. a smaller tile shown while the requested one is rendered, is
+handled likewise in its own slot and runs before the foreground request. Prefetch requests run when no foreground
+request is waiting, the newest first; beyond maxPrefetch the oldest ones are dropped. The result of a prefetch is
+discarded, the TileSource is expected to keep rendered tiles in a cache bounded in memory, like TileCache.
+Palettes are copied on submission, so the caller may change its colors afterwards.
+
+*/
+
+public class RenderScheduler {
+    public static final long DEBOUNCE_MS = 15;
+
+    public interface TileSource {
+        BufferedImage get(TileType type, Color[] colors, int size); // invoked concurrently by the worker threads
+    }
+
+    private static class Request {
+        final TileType type;
+        final Color[] colors;
+        final int size;
+        final CompletableFuture<BufferedImage> future; // null for prefetch
+
+        Request(TileType type, Color[] colors, int size, CompletableFuture<BufferedImage> future) {
+            this.type = type;
+            this.colors = colors.clone();
+            this.size = size;
+            this.future = future;
+        }
+
+        boolean sameTile(Request r) {
+            return type == r.type && size == r.size && Arrays.equals(colors, r.colors);
+        }
+    }
+
+    private final TileSource source;
+    private final int maxPrefetch;
+    private final ArrayDeque<Request> prefetchQueue = new ArrayDeque<>();
+    private final Slot foreground = new Slot(), preview = new Slot();
+    private boolean shutdown;
+
+    // latest-wins slot of a kind of request, with the request being rendered
+    private static final class Slot {
+        Request pending; // not yet started
+        long since; // nanoTime at which the slot was filled, kept when the pending request is replaced
+        Request running;
+
+        CompletableFuture<BufferedImage> submit(Request request) {
+            if (running != null && !running.future.isDone()) {
+                if (running.sameTile(request)) { // already rendering
+                    if (pending != null) pending.future.cancel(false);
+                    pending = null;
+                    return running.future;
+                }
+                running.future.cancel(false); // superseded, the result is dropped
+            }
+            if (pending != null) pending.future.cancel(false);
+            else since = System.nanoTime();
+            pending = request;
+            return request.future;
+        }
+
+        long waitNanos(long now) { // until the pending request may start
+            return pending == null ? Long.MAX_VALUE : since + DEBOUNCE_MS * 1000000 - now;
+        }
+
+        Request take() {
+            running = pending;
+            pending = null;
+            return running;
+        }
+
+        void cancel() {
+            if (pending != null) pending.future.cancel(false);
+            if (running != null) running.future.cancel(false);
+            pending = null;
+        }
+    }
+
+    public RenderScheduler(TileSource source, int threads, int maxPrefetch) {
+        this.source = source;
+        this.maxPrefetch = maxPrefetch;
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(this::work, "tile-renderer-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    public synchronized CompletableFuture<BufferedImage> submit(TileType type, Color[] colors, int size) {
+        CompletableFuture<BufferedImage> future = foreground.submit(new Request(type, colors, size, new CompletableFuture<>()));
+        notifyAll();
+        return future;
+    }
+
+    public synchronized CompletableFuture<BufferedImage> submitPreview(TileType type, Color[] colors, int size) {
+        CompletableFuture<BufferedImage> future = preview.submit(new Request(type, colors, size, new CompletableFuture<>()));
+        notifyAll();
+        return future;
+    }
+
+    public synchronized void prefetch(TileType type, Color[] colors, int size) {
+        Request request = new Request(type, colors, size, null);
+        for (Iterator<Request> it = prefetchQueue.iterator(); it.hasNext(); )
+            if (it.next().sameTile(request)) it.remove();
+        prefetchQueue.addFirst(request);
+        while (prefetchQueue.size() > maxPrefetch)
+            prefetchQueue.removeLast();
+        notify();
+    }
+
+    public synchronized void clearPrefetch() {
+        prefetchQueue.clear();
+    }
+
+    public synchronized void shutdown() {
+        shutdown = true;
+        prefetchQueue.clear();
+        foreground.cancel();
+        preview.cancel();
+        notifyAll();
+    }
+
+    private synchronized Request take() throws InterruptedException {
+        while (!shutdown) {
+            long now = System.nanoTime();
+            if (preview.waitNanos(now) <= 0) return preview.take();
+            if (foreground.waitNanos(now) <= 0) return foreground.take();
+            if (foreground.pending == null && preview.pending == null && !prefetchQueue.isEmpty())
+                return prefetchQueue.pollFirst();
+            long wait = Math.min(preview.waitNanos(now), foreground.waitNanos(now));
+            if (wait == Long.MAX_VALUE) wait();
+            else wait(wait / 1000000, (int) (wait % 1000000));
+        }
+        return null;
+    }
+
+    private void work() {
+        Thread thread = Thread.currentThread();
+        try {
+            Request request;
+            while ((request = take()) != null) {
+                if (request.future != null && request.future.isDone()) continue; // cancelled before start
+                thread.setPriority(request.future == null ? Thread.MIN_PRIORITY : Thread.NORM_PRIORITY);
+                try {
+                    BufferedImage image = source.get(request.type, request.colors, request.size);
+                    if (request.future != null) request.future.complete(image);
+                } catch (Throwable ex) { // errors too, e.g. OutOfMemoryError, so that the worker survives and no future hangs
+                    if (request.future != null) request.future.completeExceptionally(ex);
+                }
+            }
+        } catch (InterruptedException ex) {
+            // worker ends
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.geom.Path2D;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+Class 'ShapeCache' keeps the normalized shapes used by the tiles: stars of outer radius 1, regular polygons of side 1
+and squares of side 1, all centered in the origin. Tiles place them with an AffineTransform, so repeated renders do not
+recompute the vertices. Cached shapes are shared and must not be modified.
+
+*/
+
+class ShapeCache {
+    private static final int MAX_SHAPES = 256;
+    private static final Map<Key, Path2D> shapes = new LinkedHashMap<Key, Path2D>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Path2D> eldest) {
+            return size() > MAX_SHAPES;
+        }
+    };
+
+    private static final int STAR = 0, POLYGON = 1, SQUARE = 2;
+
+    static Path2D star(int pts, double innerRatio, double rotation) {
+        Key key = new Key(STAR, pts, innerRatio, rotation);
+        Path2D p = get(key);
+        if (p == null) {
+            p = new Path2D.Double();
+            for (int i = 0; i < 2 * pts; i++) {
+                double r = (i % 2 == 0) ? 1 : innerRatio;
+                double a = i * Math.PI / pts + rotation;
+                double px = Math.cos(a) * r, py = Math.sin(a) * r;
+                if (i == 0)
+                    p.moveTo(px, py);
+                else p.lineTo(px, py);
+            }
+            p.closePath();
+            put(key, p);
+        }
+        return p;
+    }
+
+    static Path2D polygon(int n_sides, double rotation) {
+        Key key = new Key(POLYGON, n_sides, 0, rotation);
+        Path2D p = get(key);
+        if (p == null) {
+            p = new Path2D.Double();
+            double r = 0.5 / Math.sin(Math.PI / n_sides);
+            rotation -= Math.PI / n_sides;
+            for (int i = 0; i < n_sides; i++) {
+                double a = 2.0 * i * Math.PI / n_sides + rotation;
+                double px = Math.cos(a) * r, py = Math.sin(a) * r;
+                if (i == 0)
+                    p.moveTo(px, py);
+                else p.lineTo(px, py);
+            }
+            p.closePath();
+            put(key, p);
+        }
+        return p;
+    }
+
+    static Path2D square(double angle) {
+        Key key = new Key(SQUARE, 4, 0, angle);
+        Path2D p = get(key);
+        if (p == null) {
+            double[][] reference_corners = {{-0.5, -0.5}, { 0.5, -0.5}, { 0.5,  0.5}, {-0.5,  0.5}};
+            p = new Path2D.Double();
+            double cosA = Math.cos(angle);
+            double sinA = Math.sin(angle);
+            for (int i = 0; i < 4; i++) {
+                double relX = reference_corners[i][0];
+                double relY = reference_corners[i][1];
+
+                double x = relX * cosA - relY * sinA;
+                double y = relX * sinA + relY * cosA;
+
+                if (i == 0) p.moveTo(x, y);
+                else p.lineTo(x, y);
+            }
+            p.closePath();
+            put(key, p);
+        }
+        return p;
+    }
+
+    private static synchronized Path2D get(Key key) {
+        return shapes.get(key);
+    }
+
+    private static synchronized void put(Key key, Path2D shape) {
+        shapes.put(key, shape);
+    }
+
+    private static final class Key {
+        final int kind, points;
+        final double ratio, rotation;
+
+        Key(int kind, int points, double ratio, double rotation) {
+            this.kind = kind;
+            this.points = points;
+            this.ratio = ratio;
+            this.rotation = rotation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return kind == k.kind && points == k.points && Double.compare(ratio, k.ratio) == 0 && Double.compare(rotation, k.rotation) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((kind * 31 + points) * 31 + Double.hashCode(ratio)) * 31 + Double.hashCode(rotation);
+        }
+    }
+}
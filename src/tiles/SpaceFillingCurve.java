@@ -0,0 +1,135 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.geom.Path2D;
+
+/*
+Class 'SpaceFillingCurve' generates space filling curves defined by L-systems with turns of 90 degrees, e.g.:
+
+Path2D.Float path = SpaceFillingCurve.HILBERT.createPath(level, x, y, size);
+
+The curve visits the centers of the cells of a square grid of getGridSize(level) cells per side, inside the square (x, y, size).
+Rules are expanded iteratively with an explicit stack of depth level, so the generator does not allocate per segment
+and its memory does not depend on the number of segments; collinear segments are merged in a single line of the path.
+Symbols: F = forward one cell, + = turn left, - = turn right, other letters are rewritten by the rules.
+
+*/
+
+public class SpaceFillingCurve {
+    public static final SpaceFillingCurve HILBERT = new SpaceFillingCurve("A", "AB", new String[]{"+BF-AFA-FB+", "-AF+BFB+FA-"}, 2, 1, 0, 0, 2, -1, 0, false);
+    public static final SpaceFillingCurve MOORE = new SpaceFillingCurve("LFL+F+LFL", "LR", new String[]{"-RF+LFL+FR-", "+LF-RFR-FL+"}, 2, 2, 1, 0, 2, -1, 1, true);
+    public static final SpaceFillingCurve PEANO = new SpaceFillingCurve("X", "XY", new String[]{"XFYFX+F+YFXFY-F-XFYFX", "YFXFY-F-XFYFX+F+YFXFY"}, 3, 1, 2, -1, 2, -1, 1, false);
+
+// dir: 0=right, 1=up, 2=left, 3=down
+    private static final int[] DX = {1, 0, -1, 0};
+    private static final int[] DY = {0, -1, 0, 1};
+
+    private final String axiom;
+    private final String variables;
+    private final String[] rules;
+    private final int base; // grid size grows by base at each level
+    private final int gridFactor; // grid size at level 0
+    private final int startX2, startX, startY2, startY; // start cell is (grid * startX2 / 2 + startX, grid * startY2 / 2 + startY)
+    private final int startDir;
+    private final boolean closed;
+
+    private SpaceFillingCurve(String axiom, String variables, String[] rules, int base, int gridFactor,
+                              int startX2, int startX, int startY2, int startY, int startDir, boolean closed) {
+        this.axiom = axiom;
+        this.variables = variables;
+        this.rules = rules;
+        this.base = base;
+        this.gridFactor = gridFactor;
+        this.startX2 = startX2;
+        this.startX = startX;
+        this.startY2 = startY2;
+        this.startY = startY;
+        this.startDir = startDir;
+        this.closed = closed;
+    }
+
+    public int getGridSize(int level) {
+        int grid = gridFactor;
+        for (int i = 0; i < level; i++)
+            grid *= base;
+        return grid;
+    }
+
+    public Path2D.Float createPath(int level, double x, double y, double size) {
+        return createPath(level, x, y, size, false);
+    }
+
+// pixelAligned truncates the vertices to integer coordinates, as drawLine(int, int, int, int) does
+    public Path2D.Float createPath(int level, double x, double y, double size, boolean pixelAligned) {
+        int grid = getGridSize(level);
+        double step = size / grid;
+        int cx = grid * startX2 / 2 + startX;
+        int cy = grid * startY2 / 2 + startY;
+
+        Path2D.Float path = new Path2D.Float(); // grows on demand, the number of vertices is not known in advance
+        path.moveTo(coord(x + (cx + 0.5) * step, pixelAligned), coord(y + (cy + 0.5) * step, pixelAligned));
+
+        String[] stackRule = new String[level + 1];
+        int[] stackPos = new int[level + 1];
+        stackRule[0] = axiom;
+        int sp = 0;
+        int dir = startDir;
+        int pending = 0; // cells moved along dir, not yet added to the path
+        while (sp >= 0) {
+            String rule = stackRule[sp];
+            if (stackPos[sp] == rule.length()) {
+                sp--;
+                continue;
+            }
+            char c = rule.charAt(stackPos[sp]++);
+            if (c == 'F') {
+                pending++;
+            } else if (c == '+' || c == '-') {
+                if (pending > 0) {
+                    cx += DX[dir] * pending;
+                    cy += DY[dir] * pending;
+                    path.lineTo(coord(x + (cx + 0.5) * step, pixelAligned), coord(y + (cy + 0.5) * step, pixelAligned));
+                    pending = 0;
+                }
+                dir = (c == '+' ? dir + 1 : dir + 3) % 4;
+            } else if (sp < level) {
+                int v = variables.indexOf(c);
+                if (v >= 0) {
+                    sp++;
+                    stackRule[sp] = rules[v];
+                    stackPos[sp] = 0;
+                }
+            }
+        }
+        if (pending > 0)
+            path.lineTo(coord(x + (cx + DX[dir] * pending + 0.5) * step, pixelAligned), coord(y + (cy + DY[dir] * pending + 0.5) * step, pixelAligned));
+        if (closed)
+            path.closePath();
+        return path;
+    }
+
+    private static double coord(double v, boolean pixelAligned) {
+        return pixelAligned ? (int) v : v;
+    }
+}
@@ -0,0 +1,153 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.io.IOException;
+import java.io.Writer;
+
+/*
+Class 'SvgExporter' writes a tiling as SVG image, with the tile emitted once as a repeating pattern, so that the size
+of the file does not depend on the size of the image and the image can be scaled without loss:
+
+SvgExporter.writeSvg(out, TileRenderer.recordTile(type, colors, tileSize), colors, tileSize, width, height);
+
+The tile is given as DisplayList, palette indices are resolved with colors. Clips become clipPath elements; as for
+replay of display lists, strokes are not thinner than one pixel of the tile. Transparent areas show a black background,
+as in the PNG export.
+
+*/
+
+public class SvgExporter {
+
+    public static void writeSvg(Writer out, DisplayList tile, Color[] colors, int tileSize, int width, int height) throws IOException {
+        StringBuilder clips = new StringBuilder();
+        StringBuilder pattern = new StringBuilder();
+        tile.accept(new DisplayList.Visitor() {
+            String color = "#000000";
+            double opacity = 1;
+            String stroke = "";
+            String clip = "";
+            int clipCount = 0;
+            String lastFill; // path data of the last element if it is a fill, a draw of the same path is merged into it
+
+            public void color(int paletteIndex, int argb) {
+                int alpha = argb >>> 24, rgb = argb & 0xFFFFFF;
+                if (paletteIndex >= 0) {
+                    alpha = alpha * colors[paletteIndex].getAlpha() / 255;
+                    rgb = colors[paletteIndex].getRGB() & 0xFFFFFF;
+                }
+                color = String.format("#%06x", rgb);
+                opacity = alpha / 255.0;
+                lastFill = null;
+            }
+
+            public void stroke(float w, int cap, int join, float miterLimit) {
+                stroke = " stroke-width=\"" + number(Math.max(w * tileSize, 1)) + "\""
+                    + (cap == BasicStroke.CAP_ROUND ? " stroke-linecap=\"round\"" : cap == BasicStroke.CAP_SQUARE ? " stroke-linecap=\"square\"" : "")
+                    + (join == BasicStroke.JOIN_ROUND ? " stroke-linejoin=\"round\"" : join == BasicStroke.JOIN_BEVEL ? " stroke-linejoin=\"bevel\"" : "")
+                    + (join == BasicStroke.JOIN_MITER && miterLimit != 4 ? " stroke-miterlimit=\"" + number(miterLimit) + "\"" : "");
+            }
+
+            public void fill(Path2D path) {
+                pattern.append("<path d=\"");
+                int start = pattern.length();
+                appendPath(pattern, path, tileSize);
+                lastFill = pattern.substring(start);
+                pattern.append("\" fill=\"").append(color).append('"');
+                if (opacity < 1) pattern.append(" fill-opacity=\"").append(number(opacity)).append('"');
+                if (path.getWindingRule() == Path2D.WIND_EVEN_ODD) pattern.append(" fill-rule=\"evenodd\"");
+                pattern.append(clip).append("/>\n");
+            }
+
+            public void draw(Path2D path) {
+                StringBuilder d = new StringBuilder();
+                appendPath(d, path, tileSize);
+                if (d.toString().equals(lastFill)) // stroke of the filled path
+                    pattern.setLength(pattern.length() - clip.length() - 3);
+                else pattern.append("<path d=\"").append(d).append("\" fill=\"none\"");
+                pattern.append(" stroke=\"").append(color).append('"');
+                if (opacity < 1) pattern.append(" stroke-opacity=\"").append(number(opacity)).append('"');
+                pattern.append(stroke).append(clip).append("/>\n");
+                lastFill = null;
+            }
+
+            public void clip(Path2D path) {
+                lastFill = null;
+                if (path == null) {
+                    clip = "";
+                    return;
+                }
+                String id = "clip" + clipCount++;
+                clips.append("<clipPath id=\"").append(id).append("\"><path d=\"");
+                appendPath(clips, path, tileSize);
+                clips.append('"');
+                if (path.getWindingRule() == Path2D.WIND_EVEN_ODD) clips.append(" clip-rule=\"evenodd\"");
+                clips.append("/></clipPath>\n");
+                clip = " clip-path=\"url(#" + id + ")\"";
+            }
+        });
+
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        out.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + height
+            + "\" viewBox=\"0 0 " + width + " " + height + "\">\n");
+        out.write("<defs>\n");
+        out.append(clips);
+        out.write("<pattern id=\"tile\" patternUnits=\"userSpaceOnUse\" width=\"" + tileSize + "\" height=\"" + tileSize + "\">\n");
+        out.append(pattern);
+        out.write("</pattern>\n</defs>\n");
+        out.write("<rect width=\"" + width + "\" height=\"" + height + "\" fill=\"#000000\"/>\n");
+        out.write("<rect width=\"" + width + "\" height=\"" + height + "\" fill=\"url(#tile)\"/>\n");
+        out.write("</svg>\n");
+    }
+
+    private static void appendPath(StringBuilder sb, Path2D path, double scale) {
+        double[] c = new double[6];
+        for (PathIterator it = path.getPathIterator(null); !it.isDone(); it.next()) {
+            int type = it.currentSegment(c);
+            switch (type) {
+                case PathIterator.SEG_MOVETO: sb.append('M'); appendPoints(sb, c, 1, scale); break;
+                case PathIterator.SEG_LINETO: sb.append('L'); appendPoints(sb, c, 1, scale); break;
+                case PathIterator.SEG_QUADTO: sb.append('Q'); appendPoints(sb, c, 2, scale); break;
+                case PathIterator.SEG_CUBICTO: sb.append('C'); appendPoints(sb, c, 3, scale); break;
+                default: sb.append('Z'); break;
+            }
+        }
+    }
+
+    private static void appendPoints(StringBuilder sb, double[] c, int points, double scale) {
+        for (int i = 0; i < 2 * points; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(number(c[i] * scale));
+        }
+    }
+
+    private static String number(double v) { // 3 decimals, without trailing zeros
+        long r = Math.round(v * 1000);
+        if (r % 1000 == 0) return Long.toString(r / 1000);
+        return Double.toString(r / 1000.0);
+    }
+}
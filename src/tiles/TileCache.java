@@ -0,0 +1,190 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/*
+Class 'TileCache' keeps rendered tiles in memory with LRU eviction, bounded by the total number of bytes of the rasters.
+Entries are keyed by tile type, size, palette and a parameter value that distinguishes variants of the same tile type,
+e.g. the revision of the drawing history in user mode. Cached images must not be modified by callers.
+The cache is thread safe; hits and misses are counted for monitoring. getOrRender renders each missing tile once:
+threads missing a tile that another thread is rendering wait for that render instead of rendering their own copy.
+An optional DiskTileCache is used as second tier by getOrRender, except for USER_MODE tiles that depend on the drawing
+history of the running application and for tiles cheap to derive, like PaletteRaster recolors, that the caller marks as
+not persistent.
+Each miss of getOrRender is recorded in RenderMetrics and as RenderEvents.TileRender event.
+
+*/
+
+public class TileCache {
+    private final long maxBytes;
+    private final DiskTileCache disk;
+    private final LinkedHashMap<Key, BufferedImage> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentHashMap<Key, CompletableFuture<BufferedImage>> inFlight = new ConcurrentHashMap<>();
+    private long bytes;
+    private long hits;
+    private long misses;
+
+    public TileCache(long maxBytes) {
+        this(maxBytes, null);
+    }
+
+    public TileCache(long maxBytes, DiskTileCache disk) {
+        this.maxBytes = maxBytes;
+        this.disk = disk;
+    }
+
+    public synchronized BufferedImage get(TileType type, Color[] colors, int size, long params) {
+        BufferedImage image = entries.get(new Key(type, colors, size, params));
+        if (image != null) hits++;
+        else misses++;
+        return image;
+    }
+
+    // as get, without counting a hit or miss, e.g. to check whether a tile is available without rendering it
+    public synchronized BufferedImage peek(TileType type, Color[] colors, int size, long params) {
+        return entries.get(new Key(type, colors, size, params));
+    }
+
+    public synchronized void put(TileType type, Color[] colors, int size, long params, BufferedImage image) {
+        BufferedImage old = entries.put(new Key(type, colors, size, params), image);
+        if (old != null) bytes -= sizeOf(old);
+        bytes += sizeOf(image);
+        Iterator<Map.Entry<Key, BufferedImage>> it = entries.entrySet().iterator();
+        while (bytes > maxBytes && entries.size() > 1) {
+            bytes -= sizeOf(it.next().getValue());
+            it.remove();
+        }
+    }
+
+    public BufferedImage getOrRender(TileType type, Color[] colors, int size, long params, Supplier<BufferedImage> renderer) {
+        return getOrRender(type, colors, size, params, renderer, true);
+    }
+
+    // persist false keeps the tile in memory only
+    public BufferedImage getOrRender(TileType type, Color[] colors, int size, long params, Supplier<BufferedImage> renderer, boolean persist) {
+        BufferedImage image = get(type, colors, size, params);
+        if (image != null) return image;
+        Key key = new Key(type, colors, size, params);
+        CompletableFuture<BufferedImage> future = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> running = inFlight.putIfAbsent(key, future);
+        if (running != null) { // rendered by another thread, joined without rendering a copy
+            try {
+                return running.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+                if (ex.getCause() instanceof Error) throw (Error) ex.getCause();
+                throw ex;
+            }
+        }
+        try {
+            image = peek(type, colors, size, params); // completed between the lookup and putIfAbsent
+            if (image == null) image = render(type, colors, size, params, renderer, persist);
+            future.complete(image);
+            return image;
+        } catch (RuntimeException | Error ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private BufferedImage render(TileType type, Color[] colors, int size, long params, Supplier<BufferedImage> renderer, boolean persist) {
+        RenderEvents.TileRender event = new RenderEvents.TileRender();
+        event.begin();
+        long start = System.nanoTime(), allocated = RenderMetrics.allocatedBytes();
+        boolean persistent = persist && disk != null && type != TileType.USER_MODE;
+        BufferedImage image = persistent ? disk.get(type, colors, size, params) : null;
+        boolean fromDisk = image != null;
+        if (image == null) {
+            image = renderer.get();
+            if (persistent) disk.put(type, colors, size, params, image);
+        }
+        put(type, colors, size, params, image);
+        if (allocated >= 0) allocated = RenderMetrics.allocatedBytes() - allocated;
+        RenderMetrics.get().recordRender(type, size, System.nanoTime() - start, allocated, fromDisk);
+        event.end();
+        if (event.shouldCommit()) {
+            event.tileType = type.name();
+            event.size = size;
+            event.fromDisk = fromDisk;
+            event.allocatedBytes = allocated;
+            event.commit();
+        }
+        return image;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public synchronized long getBytes() { return bytes; }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public DiskTileCache getDiskCache() { return disk; }
+
+    private static long sizeOf(BufferedImage image) {
+        return 4L * image.getWidth() * image.getHeight();
+    }
+
+    private static final class Key {
+        final TileType type;
+        final int[] palette;
+        final int size;
+        final long params;
+        final int hash;
+
+        Key(TileType type, Color[] colors, int size, long params) {
+            this.type = type;
+            this.palette = new int[colors.length];
+            for (int i = 0; i < colors.length; i++)
+                palette[i] = colors[i].getRGB();
+            this.size = size;
+            this.params = params;
+            this.hash = ((type.hashCode() * 31 + Arrays.hashCode(palette)) * 31 + size) * 31 + Long.hashCode(params);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return type == k.type && size == k.size && params == k.params && Arrays.equals(palette, k.palette);
+        }
+
+        @Override
+        public int hashCode() { return hash; }
+    }
+}
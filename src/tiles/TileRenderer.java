@@ -0,0 +1,165 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+
+/*
+Class 'TileRenderer' renders any tile type without Swing components, e.g. on headless servers:
+
+BufferedImage tile = TileRenderer.renderTile(TileType.GREEK, colors, size);
+
+The image is ARGB, antialiased and has the given size. Method renderTile(type, colors, size, pixels, offset, scanline)
+renders straight into a caller supplied int[] buffer in ARGB format.
+All methods are stateless and can be invoked concurrently from several threads.
+USER_MODE is not supported, as user tiles depend on the drawing history of the application.
+Tile types whose geometry scales linearly with the size are recorded once as DisplayList and replayed with the
+requested size and palette, up to REFERENCE_SIZE: strokes of 1 pixel, as the default stroke, are recorded relative to
+the reference size and would be replayed wider at larger sizes, so these are painted directly. The simple rectilinear tiles are rendered into images and buffers by PixelKernels.
+
+*/
+
+public class TileRenderer {
+
+    private static final ColorModel ARGB_MODEL = ColorModel.getRGBdefault();
+
+    static final int REFERENCE_SIZE = 1024;
+    static final Color[] SENTINEL_COLORS = {new Color(0x010203), new Color(0x040506), new Color(0x070809), new Color(0x0A0B0C)};
+
+    private static final EnumSet<TileType> SCALABLE_TYPES = EnumSet.of(TileType.GREEK, TileType.IPATTERN1, TileType.IPATTERN2,
+        TileType.OCTAGRAM1, TileType.OCTAGRAM2, TileType.OCTAGON, TileType.OCTAGON2, TileType.SQUARES, TileType.WANG);
+    private static final EnumMap<TileType, DisplayList> displayLists = new EnumMap<>(TileType.class);
+
+    public static BufferedImage renderTile(TileType type, Color[] colors, int size) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        if (PixelKernels.isSupported(type)) {
+            PixelKernels.render(type, colors, size, ((DataBufferInt) image.getRaster().getDataBuffer()).getData(), 0, size, false);
+            return image;
+        }
+        Graphics2D g2d = createGraphics(image);
+        drawTile(type, g2d, colors, 0, 0, size);
+        g2d.dispose();
+        return image;
+    }
+
+    public static void renderTile(TileType type, Color[] colors, int size, int[] pixels, int offset, int scanline) {
+        if (scanline < size || offset < 0 || offset + (size - 1) * scanline + size > pixels.length)
+            throw new IllegalArgumentException("buffer too small for tile of size " + size);
+        if (PixelKernels.isSupported(type)) {
+            PixelKernels.render(type, colors, size, pixels, offset, scanline, false);
+            return;
+        }
+        for (int row = 0; row < size; row++)
+            Arrays.fill(pixels, offset + row * scanline, offset + row * scanline + size, 0);
+
+        DataBufferInt buffer = new DataBufferInt(pixels, pixels.length, offset);
+        DirectColorModel cm = (DirectColorModel) ARGB_MODEL;
+        SinglePixelPackedSampleModel sm = new SinglePixelPackedSampleModel(buffer.getDataType(), size, size, scanline, cm.getMasks());
+        WritableRaster raster = Raster.createWritableRaster(sm, buffer, null);
+        BufferedImage image = new BufferedImage(cm, raster, false, null);
+
+        Graphics2D g2d = createGraphics(image);
+        drawTile(type, g2d, colors, 0, 0, size);
+        g2d.dispose();
+    }
+
+    public static void drawTile(TileType type, Graphics2D g2d, Color[] colors, int x, int y, int size) {
+        if (colors.length < 4)
+            throw new IllegalArgumentException("palette must have 4 colors");
+        DisplayList list = size <= REFERENCE_SIZE ? getDisplayList(type) : null;
+        if (list != null)
+            list.replay(g2d, colors, x, y, size);
+        else paintTile(type, g2d, colors, x, y, size);
+    }
+
+    public static DisplayList getDisplayList(TileType type) {
+        if (!SCALABLE_TYPES.contains(type))
+            return null;
+        synchronized (displayLists) {
+            return displayLists.computeIfAbsent(type, DisplayList::record);
+        }
+    }
+
+    // display list of the tile at the given size, palette indices refer to colors
+    public static DisplayList recordTile(TileType type, Color[] colors, int size) {
+        if (colors.length < 4)
+            throw new IllegalArgumentException("palette must have 4 colors");
+        DisplayList list = size <= REFERENCE_SIZE ? getDisplayList(type) : null;
+        return list != null ? list : DisplayList.record(size, colors, g2d -> paintTile(type, g2d, colors, 0, 0, size));
+    }
+
+    static void paintTile(TileType type, Graphics2D g2d, Color[] colors, int x, int y, int size) {
+        switch (type) {
+            case GREEK: Tiles.drawGreekTile(g2d, colors, x, y, size); break;
+            case IPATTERN1: Tiles.drawIslamicStarTile1(g2d, colors, x, y, size); break;
+            case IPATTERN2: Tiles.drawIslamicStarTile2(g2d, colors, x, y, size); break;
+            case IPATTERN3: Tiles.drawIslamicStarTile3(g2d, colors, x, y, size); break;
+            case INTERLOCK: Tiles.drawInterlockingTile(g2d, colors, x, y, size); break;
+            case OCTAGRAM1: Tiles.drawOctagramTile(g2d, colors, x, y, size, 0.384); break;
+            case OCTAGRAM2: Tiles.drawOctagramTile(g2d, colors, x, y, size, 0.27); break;
+            case OCTAGON: Tiles.drawOctagonTile(g2d, colors, x, y, size, 1.0 / (2.0 + Math.sqrt(2))); break;
+            case OCTAGON2: Tiles.drawOctagonTile(g2d, colors, x, y, size, 1.0 / (1.0 + Math.sqrt(2))); break;
+            case SQUARES: Tiles.drawSquaresTile(g2d, colors, x, y, size); break;
+            case TARTAN: Tiles.drawTartanTile(g2d, colors, x, y, size); break;
+            case CROSSED: Tiles.drawCrossedTile(g2d, colors, x, y, size); break;
+            case INTERLACED: Tiles.drawInterlacedTile(g2d, colors, x, y, size); break;
+            case LABYRINTH: Tiles.drawLabyrinthTile(g2d, colors, x, y, size, size / 10.0); break;
+            case TRUCHET2: Tiles.drawTruchetTile(g2d, colors, x, y, size, 2, size / 10.0); break;
+            case TRUCHET3: Tiles.drawTruchetTile(g2d, colors, x, y, size, 3, size / 10.0); break;
+            case TRUCHET4: Tiles.drawTruchetTile(g2d, colors, x, y, size, 4, size / 10.0); break;
+            case WANG: Tiles.drawWangTile(g2d, colors, x, y, size, 8); break;
+            case VORONOI: Tiles.drawVoronoiTile(g2d, x, y, size, 40); break;
+            case VORONOI_CELLS: Tiles.drawVoronoiCellsTile(g2d, colors, x, y, size, 4000); break;
+            case BLCKFRCTL: Tiles.drawBlockFractal(g2d, colors, x, y, size, (int) (Math.log(size) / Math.log(3) - 1)); break;
+            case HLBRTFRCTL: Tiles.drawHilbertFractal(g2d, colors, x, y, size, (int) (Math.log(size) / Math.log(2) - 4)); break;
+            case MOORECURVE: Tiles.drawSpaceFillingCurveTile(g2d, colors, x, y, size, SpaceFillingCurve.MOORE, (int) (Math.log(size) / Math.log(2) - 5)); break;
+            case PEANOCURVE: Tiles.drawSpaceFillingCurveTile(g2d, colors, x, y, size, SpaceFillingCurve.PEANO, (int) (Math.log(size) / Math.log(3) - 2)); break;
+            case POLYGONFRCTL: Tiles.drawFractalPolygon(g2d, colors, x, y, size, 8, Math.max(3, (int) (Math.log(size) / Math.log(5)) - 1), 0.4); break;
+            case GRIDSQRCIRCLE: Tiles.drawGridSquareCircles(g2d, colors, x, y, size, 6); break;
+            case DOTTEDGRID: Tiles.drawDottedGridTile(g2d, colors, x, y, size, 10); break;
+            case SQRSPIRAL: Tiles.drawSquareSpiralTile(g2d, colors, x, y, size, 10); break;
+            case SPIDERWEB: Tiles.drawSpiderWebTile(g2d, colors, x, y, size, 16, 8); break;
+            case CHECKERED: Tiles.drawCheckeredTile(g2d, colors, x, y, size); break;
+            default: throw new IllegalArgumentException("tile type not supported: " + type);
+        }
+    }
+
+    private static Graphics2D createGraphics(BufferedImage image) {
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        return g2d;
+    }
+}
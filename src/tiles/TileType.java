@@ -0,0 +1,66 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+
+/*
+Enumeration of the tiles available in the application and through class 'TileRenderer'.
+USER_MODE is drawn by the application from the user drawing history, all other types are drawn by class 'Tiles'.
+*/
+
+public enum TileType {
+    USER_MODE("User Mode"),
+    GREEK("Greek Pattern"),
+    IPATTERN1("Layered Islamic Star"),
+    IPATTERN2("Quartered Islamic Star"),
+    IPATTERN3("Eightfold Islamic Star"),
+    INTERLOCK("Interlocking Squares"),
+    OCTAGRAM1("Large Octagram"),
+    OCTAGRAM2("Narrow Octagram"),
+    OCTAGON("Octagons & Squares"),
+    OCTAGON2("Octagon & Rhombus"),
+    SQUARES("Squares and Rhombus"),
+    TARTAN("Tartan"),
+    CROSSED("Crossed Square"),
+    INTERLACED("Interlaced Circles"),
+    LABYRINTH("Labyrinth  pattern"),
+    TRUCHET2("Truchet pattern #2"),
+    TRUCHET3("Truchet pattern #3"),
+    TRUCHET4("Truchet pattern #4"),
+    WANG("Wang tiling"),
+    VORONOI("Voronoi tiling"),
+    VORONOI_CELLS("Voronoi cells"),
+    BLCKFRCTL("Block Fractal"),
+    HLBRTFRCTL("Hilbert Fractal"),
+    MOORECURVE("Moore Curve"),
+    PEANOCURVE("Peano Curve"),
+    POLYGONFRCTL("Polygon Fractal"),
+    GRIDSQRCIRCLE("Grid Squares & Circles"),
+    DOTTEDGRID("Dotted grid"),
+    SQRSPIRAL("Square Spiral"),
+    SPIDERWEB("Spider Web"),
+    CHECKERED("Checkered");
+
+    public final String title;
+    TileType(String title) { this.title = title; }
+}
@@ -25,16 +25,13 @@ DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Arc2D;
-import java.awt.geom.Area;
-import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
-import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Random;
 
 /*
@@ -70,11 +67,8 @@ public class Tiles {
         drawOctagramTile(g2d, colors, x, y, size, 0.384);
 
         double cx = x + size / 2.0; double cy = y + size / 2.0;
-        Path2D star = createStar(cx, cy, size * 0.287, size * 0.375, 8, Math.PI / 8);
-        g2d.setColor(colors[3]); g2d.fill(star);
-
-        star = createStar(cx, cy, size * 0.155, size * 0.287, 8, 0);
-        g2d.setColor(colors[1]); g2d.fill(star);
+        g2d.setColor(colors[3]); fillShape(g2d, unitStar(size * 0.287, size * 0.375, 8, Math.PI / 8), cx, cy, size * 0.375);
+        g2d.setColor(colors[1]); fillShape(g2d, unitStar(size * 0.155, size * 0.287, 8, 0), cx, cy, size * 0.287);
     }
 
     public static void drawIslamicStarTile2(Graphics2D g2d, Color[] colors, int x, int y, int size) {
@@ -85,18 +79,14 @@ public class Tiles {
         Rectangle2D boundary = new Rectangle2D.Double(x, y, size, size);
         g2d.setClip(boundary);
 
-        Path2D star = createStar(cx, cy, size * 0.27, size * 0.5, 8, 0);
-        g2d.setColor(colors[1]); g2d.fill(star);
+        g2d.setColor(colors[1]); fillShape(g2d, unitStar(size * 0.27, size * 0.5, 8, 0), cx, cy, size * 0.5);
 
         double r = size * 0.21;
-        Path2D[] stars = {
-            createStar(x, y, r * 0.5, r, 4, Math.PI/4), createStar(x + size, y, r * 0.5, r, 4, Math.PI/4),
-            createStar(x, y + size, r * 0.5, r, 4, Math.PI/4), createStar(x + size, y + size, r * 0.5, r, 4, Math.PI/4),
-        };
-        for (Path2D s : stars) { g2d.fill(s); g2d.draw(s); }
+        Path2D corner = unitStar(r * 0.5, r, 4, Math.PI/4);
+        double[][] centers = {{x, y}, {x + size, y}, {x, y + size}, {x + size, y + size}};
+        for (double[] c : centers) { fillShape(g2d, corner, c[0], c[1], r); drawShape(g2d, corner, c[0], c[1], r); }
 
-        Path2D star2 = createStar(cx, cy, size * 0.207, size * 0.27, 8, Math.PI/8);
-        g2d.setColor(colors[0]); g2d.fill(star2);
+        g2d.setColor(colors[0]); fillShape(g2d, unitStar(size * 0.207, size * 0.27, 8, Math.PI/8), cx, cy, size * 0.27);
 
     }
 
@@ -111,16 +101,15 @@ public class Tiles {
         g2d.setStroke(new BasicStroke(Math.max(1.5f, size / 80f)));
         g2d.setColor(colors[2]);
         double r = size * 0.15;
-        Path2D[] stars = {
-            createStar(x, y, r * 0.5, r, 4, Math.PI/4), createStar(x + size, y, r * 0.5, r, 4, Math.PI/4),
-            createStar(x, y + size, r * 0.5, r, 4, Math.PI/4), createStar(x + size, y + size, r * 0.5, r, 4, Math.PI/4),
-            createStar(cx, y, r * 0.5, r, 4, 0), createStar(cx, y + size, r * 0.5, r, 4, 0),
-            createStar(x, cy, r * 0.5, r, 4, 0), createStar(x + size, cy, r * 0.5, r, 4, 0)
-        };
-        for (Path2D s : stars) { g2d.fill(s); g2d.draw(s); }
-        Path2D mainStar = createStar(cx, cy, size * 0.19, size * 0.35, 8, 0);
-        g2d.setColor(colors[0]); g2d.fill(mainStar);
-        g2d.setColor(colors[2]); g2d.draw(mainStar);
+        Path2D corner = unitStar(r * 0.5, r, 4, Math.PI/4), side = unitStar(r * 0.5, r, 4, 0);
+        double[][] centers = {{x, y}, {x + size, y}, {x, y + size}, {x + size, y + size}, {cx, y}, {cx, y + size}, {x, cy}, {x + size, cy}};
+        for (int k = 0; k < centers.length; k++) {
+            Path2D s = k < 4 ? corner : side;
+            fillShape(g2d, s, centers[k][0], centers[k][1], r); drawShape(g2d, s, centers[k][0], centers[k][1], r);
+        }
+        Path2D mainStar = unitStar(size * 0.19, size * 0.35, 8, 0);
+        g2d.setColor(colors[0]); fillShape(g2d, mainStar, cx, cy, size * 0.35);
+        g2d.setColor(colors[2]); drawShape(g2d, mainStar, cx, cy, size * 0.35);
     }
 
     public static void drawCrossedTile(Graphics2D g2d, Color[] colors, int x, int y, int size) {
@@ -149,15 +138,37 @@ public class Tiles {
 
         Random random = new Random(0);
 
+        Path2D.Double path = new Path2D.Double();
+        for (double i = x; i < x + size; i += cellSize)
+            for (double j = y; j < y + size; j += cellSize)
+                addLabyrinthCell(path, i, j, cellSize, random.nextBoolean());
         g2d.setColor(colors[1]);
-        for (double i = x; i < x + size; i += cellSize) {
-            for (double j = y; j < y + size; j += cellSize) {
-                if (random.nextBoolean()) {
-                    g2d.draw(new Line2D.Double(i, j, (i + cellSize), (j + cellSize)));
-                } else {
-                    g2d.draw(new Line2D.Double(i, (j + cellSize), (i + cellSize), j));
-                }
-            }
+        g2d.draw(path);
+    }
+
+// non-periodic labyrinth covering region, each cell is chosen by hashing seed and cell coordinates, cell (0, 0) at the origin
+    public static void drawLabyrinthRegion(Graphics2D g2d, Color[] colors, Rectangle2D region, double cellSize, long seed) {
+        g2d.setColor(colors[0]);
+        g2d.fill(region);
+
+        Path2D.Double path = new Path2D.Double();
+        // one more cell on each side, as strokes of the cells around the region may reach into it
+        long cx0 = (long) Math.floor(region.getMinX() / cellSize) - 1, cx1 = (long) Math.ceil(region.getMaxX() / cellSize) + 1;
+        long cy0 = (long) Math.floor(region.getMinY() / cellSize) - 1, cy1 = (long) Math.ceil(region.getMaxY() / cellSize) + 1;
+        for (long cx = cx0; cx < cx1; cx++)
+            for (long cy = cy0; cy < cy1; cy++)
+                addLabyrinthCell(path, cx * cellSize, cy * cellSize, cellSize, cellHash(seed, cx, cy) < 0);
+        g2d.setColor(colors[1]);
+        g2d.draw(path);
+    }
+
+    private static void addLabyrinthCell(Path2D.Double path, double i, double j, double cellSize, boolean descending) {
+        if (descending) {
+            path.moveTo(i, j);
+            path.lineTo(i + cellSize, j + cellSize);
+        } else {
+            path.moveTo(i, j + cellSize);
+            path.lineTo(i + cellSize, j);
         }
     }
 
@@ -167,26 +178,63 @@ public class Tiles {
 
         Random random = new Random(0);
 
+        Path2D.Double path = new Path2D.Double();
+        for (double i = x; i < x + size; i += cellSize)
+            for (double j = y; j < y + size; j += cellSize)
+                addTruchetCell(path, i, j, cellSize, random.nextInt(type));
         g2d.setColor(colors[1]);
-        for (double i = x; i < x + size; i += cellSize) {
-            for (double j = y; j < y + size; j += cellSize) {
-                int idx = random.nextInt(type);
-                if (idx == 0 || idx == 3) {
-                    g2d.draw(new Arc2D.Double(i + cellSize / 2, j - cellSize / 2, cellSize, cellSize, 180, 90, Arc2D.OPEN));
-                    g2d.draw(new Arc2D.Double(i - cellSize / 2, j + cellSize / 2, cellSize, cellSize, 0, 90, Arc2D.OPEN));
-                }
-                if (idx == 1 || idx == 3) {
-                    g2d.draw(new Arc2D.Double(i - cellSize / 2, j - cellSize / 2, cellSize, cellSize, 270, 90, Arc2D.OPEN));
-                    g2d.draw(new Arc2D.Double(i + cellSize / 2, j + cellSize / 2, cellSize, cellSize, 90, 90, Arc2D.OPEN));
-                }
-                if (idx == 2) {
-                    g2d.draw(new Line2D.Double(i, (j + cellSize / 2), (i + cellSize), (j + cellSize / 2)));
-                    g2d.draw(new Line2D.Double((i + cellSize / 2), (j + cellSize), (i + cellSize / 2), j));
-                }
-            }
+        g2d.draw(path);
+    }
+
+// non-periodic Truchet pattern covering region, each cell is chosen by hashing seed and cell coordinates, cell (0, 0) at the origin
+    public static void drawTruchetRegion(Graphics2D g2d, Color[] colors, Rectangle2D region, int type, double cellSize, long seed) {
+        g2d.setColor(colors[0]);
+        g2d.fill(region);
+
+        Path2D.Double path = new Path2D.Double();
+        // one more cell on each side, as strokes of the cells around the region may reach into it
+        long cx0 = (long) Math.floor(region.getMinX() / cellSize) - 1, cx1 = (long) Math.ceil(region.getMaxX() / cellSize) + 1;
+        long cy0 = (long) Math.floor(region.getMinY() / cellSize) - 1, cy1 = (long) Math.ceil(region.getMaxY() / cellSize) + 1;
+        for (long cx = cx0; cx < cx1; cx++)
+            for (long cy = cy0; cy < cy1; cy++)
+                addTruchetCell(path, cx * cellSize, cy * cellSize, cellSize, (int) ((cellHash(seed, cx, cy) >>> 33) % type));
+        g2d.setColor(colors[1]);
+        g2d.draw(path);
+    }
+
+    private static void addTruchetCell(Path2D.Double path, double i, double j, double cellSize, int idx) {
+        double half = cellSize / 2;
+        if (idx == 0 || idx == 3) {
+            addQuarterArc(path, i + cellSize, j, i + half, j, i + cellSize, j + half);
+            addQuarterArc(path, i, j + cellSize, i + half, j + cellSize, i, j + half);
+        }
+        if (idx == 1 || idx == 3) {
+            addQuarterArc(path, i, j, i, j + half, i + half, j);
+            addQuarterArc(path, i + cellSize, j + cellSize, i + cellSize, j + half, i + half, j + cellSize);
+        }
+        if (idx == 2) {
+            path.moveTo(i, j + half);
+            path.lineTo(i + cellSize, j + half);
+            path.moveTo(i + half, j + cellSize);
+            path.lineTo(i + half, j);
         }
     }
 
+// quarter circle around (cx, cy) from (x0, y0) to (x1, y1) as cubic Bezier curve
+    private static void addQuarterArc(Path2D.Double path, double cx, double cy, double x0, double y0, double x1, double y1) {
+        final double k = 0.5522847498;
+        path.moveTo(x0, y0);
+        path.curveTo(x0 + k * (x1 - cx), y0 + k * (y1 - cy), x1 + k * (x0 - cx), y1 + k * (y0 - cy), x1, y1);
+    }
+
+// stateless hash of a cell (splitmix64 finalizer), used by the non-periodic patterns
+    static long cellHash(long seed, long cx, long cy) {
+        long z = seed + cy * 0x9E3779B97F4A7C15L + cx * 0xC2B2AE3D27D4EB4FL;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
     public static void drawWangTile(Graphics2D g2d, Color[] colors, int x, int y, int size, int gridSize) {
         double tileSize = (double)size / gridSize;
         int[][][] grid = generateWangTiling(gridSize);
@@ -212,6 +260,40 @@ public class Tiles {
         g2d.fill(path);
     }
 
+// draws a row of Wang tiles given as indices in tiles, the triangles of each color are filled as one path
+    public static void drawWangRow(Graphics2D g2d, Color[] colors, int[][] tiles, int[] row, double x, double y, double tileSize) {
+        Path2D.Double[] paths = new Path2D.Double[colors.length];
+        double mid = tileSize * 0.5;
+        Rectangle clip = g2d.getClipBounds();
+        int first = 0, last = row.length - 1;
+        if (clip != null) {
+            first = Math.max(0, (int) Math.floor((clip.x - x) / tileSize));
+            last = Math.min(last, (int) Math.ceil((clip.x + clip.width - x) / tileSize));
+        }
+        for (int col = first; col <= last; col++) {
+            int[] tile = tiles[row[col]];
+            double tx = x + col * tileSize;
+            addTriangle(paths, tile[1], tx, y, tx + mid, y + mid, tx + tileSize, y);
+            addTriangle(paths, tile[0], tx + tileSize, y, tx + mid, y + mid, tx + tileSize, y + tileSize);
+            addTriangle(paths, tile[3], tx, y + tileSize, tx + mid, y + mid, tx + tileSize, y + tileSize);
+            addTriangle(paths, tile[2], tx, y, tx + mid, y + mid, tx, y + tileSize);
+        }
+        for (int k = 0; k < paths.length; k++)
+            if (paths[k] != null) {
+                g2d.setColor(colors[k]);
+                g2d.fill(paths[k]);
+            }
+    }
+
+    private static void addTriangle(Path2D.Double[] paths, int color, double ax, double ay, double bx, double by, double cx, double cy) {
+        if (paths[color] == null) paths[color] = new Path2D.Double(Path2D.WIND_NON_ZERO, 1024);
+        Path2D.Double path = paths[color];
+        path.moveTo(ax, ay);
+        path.lineTo(bx, by);
+        path.lineTo(cx, cy);
+        path.closePath();
+    }
+
     private static int[][][] generateWangTiling(int gridSize) {
         Random random = new Random(0);
 
@@ -248,10 +330,10 @@ public class Tiles {
         g2d.fillRect(x, y, size, size);
 
         double cx = x + size / 2.0; double cy = y + size / 2.0;
-        Path2D star = createStar(cx, cy, size * factor, size * 0.5, 8, 0);
-        g2d.setColor(colors[0]); g2d.fill(star);
+        Path2D star = unitStar(size * factor, size * 0.5, 8, 0);
+        g2d.setColor(colors[0]); fillShape(g2d, star, cx, cy, size * 0.5);
         g2d.setColor(colors[2]); g2d.setStroke(new BasicStroke(Math.max(1, size / 60f)));
-        g2d.draw(star);
+        drawShape(g2d, star, cx, cy, size * 0.5);
     }
 
     public static void drawOctagonTile(Graphics2D g2d, Color[] colors, int x, int y, int size, double factor) {
@@ -259,19 +341,19 @@ public class Tiles {
         g2d.fillRect(x, y, size, size);
 
         double cx = x + size / 2.0; double cy = y + size / 2.0;
-        Path2D octagon = createPolygon(cx, cy, size * factor, 8, 0);
-        g2d.setColor(colors[0]); g2d.fill(octagon);
-        g2d.draw(octagon);
+        Path2D octagon = ShapeCache.polygon(8, 0);
+        g2d.setColor(colors[0]); fillShape(g2d, octagon, cx, cy, size * factor);
+        drawShape(g2d, octagon, cx, cy, size * factor);
 
         Rectangle2D boundary = new Rectangle2D.Double(x, y, size, size);
         g2d.setClip(boundary);
 
         double offset = factor * (1.0 + 1.0 / Math.sqrt(2)) * size;
         double[][] pos = {{0, offset}, {0, -offset}, {-offset, 0}, {offset, 0}};
+        Path2D square = ShapeCache.polygon(4, 0);
         for (int k = 0; k < 4; k++) {
-            Path2D square = createPolygon(cx + pos[k][0], cy + pos[k][1], size * factor, 4, 0);
-            g2d.setColor(colors[3]); g2d.fill(square);
-            g2d.draw(square);
+            g2d.setColor(colors[3]); fillShape(g2d, square, cx + pos[k][0], cy + pos[k][1], size * factor);
+            drawShape(g2d, square, cx + pos[k][0], cy + pos[k][1], size * factor);
         }
     }
 
@@ -381,14 +463,10 @@ public class Tiles {
         double offset = (side / 2.0) * (cosT + sinT);
 
         g2d.setColor(colors[3]);
-        Path2D path = createSquare(cx - offset, cy - offset, side, a);
-        g2d.fill(path);
-        path = createSquare(cx + offset, cy - offset, side, -a);
-        g2d.fill(path);
-        path = createSquare(cx - offset, cy + offset, side, -a);
-        g2d.fill(path);
-        path = createSquare(cx + offset, cy + offset, side, a);
-        g2d.fill(path);
+        fillShape(g2d, ShapeCache.square(a), cx - offset, cy - offset, side);
+        fillShape(g2d, ShapeCache.square(-a), cx + offset, cy - offset, side);
+        fillShape(g2d, ShapeCache.square(-a), cx - offset, cy + offset, side);
+        fillShape(g2d, ShapeCache.square(a), cx + offset, cy + offset, side);
     }
 
     public static void drawBlockFractal(Graphics2D g2d, Color[] colors, int x, int y, int size, int n) {
@@ -418,42 +496,19 @@ public class Tiles {
 
         if (n < 1) n = 1;
 
-        double step = size / Math.pow(2, n);
-
         g2d.setColor(colors[1]);
-        // start bottom-left, facing right
-        hilbert(g2d, n, 1, 0, step, x + step / 2, y + size - step / 2);
+        // start bottom-left, facing right, on the same integer vertices as the former recursive drawLine version
+        g2d.draw(SpaceFillingCurve.HILBERT.createPath(n, x, y, size, true));
     }
 
-    public static double[] hilbert(Graphics2D g2d, int level, int rot, int dir, double step, double x, double y) {
-// note: rot: +1 or -1; dir: 0=right, 1=up, 2=left, 3=down
-        if (level > 0) {
-            dir = (dir + rot) % 4;
-            double[] pos = hilbert(g2d, level - 1, -rot, dir, step, x, y);
-            pos = forward(g2d, dir, step, pos[0], pos[1]);
-            dir = (dir - rot + 4) % 4;
-            pos = hilbert(g2d, level - 1, rot, dir, step, pos[0], pos[1]);
-            pos = forward(g2d, dir, step, pos[0], pos[1]);
-            pos = hilbert(g2d, level - 1, rot, dir, step, pos[0], pos[1]);
-            dir = (dir - rot + 4) % 4;
-            pos = forward(g2d, dir, step, pos[0], pos[1]);
-            pos = hilbert(g2d, level - 1, -rot, dir, step, pos[0], pos[1]);
-            x = pos[0];
-            y = pos[1];
-        }
-        return new double[]{x, y};
-    }
+    public static void drawSpaceFillingCurveTile(Graphics2D g2d, Color[] colors, int x, int y, int size, SpaceFillingCurve curve, int n) {
+        g2d.setColor(colors[2]);
+        g2d.fillRect(x, y, size, size);
 
-    private static double[] forward(Graphics2D g2d, int dir, double step, double x, double y) {
-        double nx = x, ny = y;
-        switch (dir) {
-            case 0: nx += step; break;
-            case 1: ny -= step; break;
-            case 2: nx -= step; break;
-            case 3: ny += step; break;
-        }
-        g2d.drawLine((int) x, (int) y, (int) nx, (int) ny);
-        return new double[]{nx, ny};
+        if (n < 1) n = 1;
+
+        g2d.setColor(colors[1]);
+        g2d.draw(curve.createPath(n, x, y, size));
     }
 
     public static void drawFractalPolygon(Graphics2D g2d, Color[] colors, int x, int y, int size, int n_sides, int iterations, double reductionFactor) {
@@ -463,48 +518,18 @@ public class Tiles {
         int cx = x + size / 2;
         int cy = y + size / 2;
 
-        drawPolygonFractal(g2d, colors, getRegularPolygon(cx, cy, size * 0.5, n_sides), iterations, reductionFactor);
-    }
-
-    private static void drawPolygonFractal(Graphics2D g2d, Color[] colors, ArrayList<Point2D> outer, int depth, double reductionFactor) {
-        if (depth == 0) return;
-
-        double sumX = 0, sumY = 0;
-        for (Point2D p : outer) {
-            sumX += p.getX();
-            sumY += p.getY();
-        }
-        Point2D center = new Point2D.Double(sumX / outer.size(), sumY / outer.size());
-        ArrayList<Point2D> inner = new ArrayList<>();
-        for (Point2D p : outer) {
-            double x = center.getX() + (p.getX() - center.getX()) * reductionFactor;
-            double y = center.getY() + (p.getY() - center.getY()) * reductionFactor;
-            inner.add(new Point2D.Double(x, y));
+        double[] xs = new double[n_sides], ys = new double[n_sides];
+        for (int i = 0; i < n_sides; i++) {
+            double angle = 2 * Math.PI * i / n_sides - Math.PI / 4; // Rotated for square orientation
+            xs[i] = cx + size * 0.5 * Math.cos(angle);
+            ys[i] = cy + size * 0.5 * Math.sin(angle);
         }
 
         g2d.setColor(colors[1]);
-        for (int i = 0; i < outer.size(); i++) {
-            Point2D p1 = outer.get(i);
-            Point2D p2 = inner.get(i);
-            g2d.drawLine((int) p1.getX(), (int) p1.getY(), (int) p2.getX(), (int) p2.getY());
-
-            Point2D nextOuter = outer.get((i + 1) % outer.size());
-            Point2D nextInner = inner.get((i + 1) % inner.size());
-            g2d.drawLine((int) p1.getX(), (int) p1.getY(), (int) nextOuter.getX(), (int) nextOuter.getY());
-            g2d.drawLine((int) p2.getX(), (int) p2.getY(), (int) nextInner.getX(), (int) nextInner.getY());
-        }
-
-        drawPolygonFractal(g2d, colors, inner, depth - 1, reductionFactor);
-
-        for (int i = 0; i < outer.size(); i++) {
-            ArrayList<Point2D> trapezoid = new ArrayList<>();
-            trapezoid.add(outer.get(i));
-            trapezoid.add(outer.get((i + 1) % outer.size()));
-            trapezoid.add(inner.get((i + 1) % inner.size()));
-            trapezoid.add(inner.get(i));
-
-            drawPolygonFractal(g2d, colors, trapezoid, depth - 1, reductionFactor);
-        }
+        // vertices are on integer coordinates and the stroke is a bit wider than 1 pixel, so that the single path has the
+        // same weight as the former drawLine per segment, which overdrew the edges shared by adjacent polygons
+        g2d.setStroke(new BasicStroke(1.25f));
+        g2d.draw(PolygonFractal.createPath(xs, ys, iterations, reductionFactor));
     }
 
     public static void drawGridSquareCircles(Graphics2D g2d, Color[] colors, int x, int y, int size, int n) {
@@ -627,42 +652,25 @@ public class Tiles {
     }
 
     public static void drawVoronoiTile(Graphics2D g2d, int x, int y, int size, int n_seeds) {
-        final Point2D.Double[] seeds = new Point2D.Double[n_seeds];
-        final Color[] colors = new Color[n_seeds];
-
-        Random rand = new Random(0);
-
+        VoronoiTile tile = getVoronoiTile(n_seeds, size);
+        Shape clip = g2d.getClip();
+        g2d.clipRect(x, y, size, size);
         for (int i = 0; i < n_seeds; i++) {
-            seeds[i] = new Point2D.Double(rand.nextInt(size), rand.nextInt(size));
-            colors[i] = new Color(rand.nextInt(0x1000000));
+            g2d.setColor(tile.colors[i]);
+            drawPeriodicCell(g2d, tile, i, x, y, size);
         }
+        g2d.setClip(clip);
+    }
 
-        final Path2D[] cells = new Path2D[n_seeds];
-        for (int i = 0; i < n_seeds; i++)
-            cells[i] = createPeriodicVoronoiCell(seeds, i, size);
-
-        final AffineTransform[] tileTransforms = new AffineTransform[9];
-        int idx = 0;
-        for (int row = -1; row <= 1; row++)
-            for (int col = -1; col <= 1; col++)
-                tileTransforms[idx++] = AffineTransform.getTranslateInstance(col * size, row * size);
-
-        Rectangle2D clipRect = new Rectangle2D.Double(0, 0, size, size);
-        Area clipArea = new Area(clipRect);
-
+    public static void drawVoronoiCellsTile(Graphics2D g2d, Color[] colors, int x, int y, int size, int n_seeds) {
+        VoronoiTile tile = getVoronoiTile(n_seeds, 0);
+        Shape clip = g2d.getClip();
+        g2d.clipRect(x, y, size, size);
         for (int i = 0; i < n_seeds; i++) {
-            g2d.setColor(colors[i]);
-            for (AffineTransform transform : tileTransforms) {
-                Shape transformedCell = transform.createTransformedShape(cells[i]);
-                if (transformedCell.intersects(clipRect)) {
-                    Area clippedCell = new Area(transformedCell);
-                    clippedCell.intersect(clipArea);
-
-                    g2d.fill(clippedCell);
-                    g2d.draw(clippedCell);
-                }
-            }
+            g2d.setColor(mixColors(colors[1], colors[3], tile.mix[i]));
+            drawPeriodicCell(g2d, tile, i, x, y, size);
         }
+        g2d.setClip(clip);
     }
 
     public static void drawDottedGridTile(Graphics2D g2d, Color[] colors, int x, int y, int size, int n) {
@@ -706,56 +714,48 @@ public class Tiles {
         }
     }
 
+// the create methods return a copy of a cached shape placed in (cx, cy); tiles use fillShape and drawShape instead,
+// that paint the cached shape under a temporary transform without copying its geometry
     public static Path2D createStar(double cx, double cy, double in, double out, int pts, double rotation) {
-        Path2D p = new Path2D.Double();
-        for (int i = 0; i < 2 * pts; i++) {
-            double r = (i % 2 == 0) ? out : in;
-            double a = i * Math.PI / pts + rotation;
-            double px = cx + Math.cos(a) * r, py = cy + Math.sin(a) * r;
-            if (i == 0)
-                p.moveTo(px, py);
-            else p.lineTo(px, py);
-        }
-        p.closePath();
-        return p;
+        return new Path2D.Double(ShapeCache.star(pts, out == 0 ? 0 : in / out, rotation), new AffineTransform(out, 0, 0, out, cx, cy));
     }
 
     public static Path2D createPolygon(double cx, double cy, double side_length, int n_sides, double rotation) {
-        Path2D p = new Path2D.Double();
-        double r = side_length * 0.5 / Math.sin(Math.PI / n_sides);
-        rotation -= Math.PI / n_sides;
-        for (int i = 0; i < n_sides; i++) {
-            double a = 2.0 * i * Math.PI / n_sides + rotation;
-            double px = cx + Math.cos(a) * r, py = cy + Math.sin(a) * r;
-            if (i == 0)
-                p.moveTo(px, py);
-            else p.lineTo(px, py);
-        }
-        p.closePath();
-        return p;
+        return new Path2D.Double(ShapeCache.polygon(n_sides, rotation), new AffineTransform(side_length, 0, 0, side_length, cx, cy));
     }
 
     public static Path2D createSquare(double cx, double cy, double s, double angle) {
-        double half = s / 2.0;
-        double[][] reference_corners = {{-half, -half}, { half, -half}, { half,  half}, {-half,  half}};
-
-        Path2D path = new Path2D.Double();
+        return new Path2D.Double(ShapeCache.square(angle), new AffineTransform(s, 0, 0, s, cx, cy));
+    }
 
-        double cosA = Math.cos(angle);
-        double sinA = Math.sin(angle);
-        for (int i = 0; i < 4; i++) {
-            double relX = reference_corners[i][0];
-            double relY = reference_corners[i][1];
+    private static Path2D unitStar(double in, double out, int pts, double rotation) {
+        return ShapeCache.star(pts, out == 0 ? 0 : in / out, rotation);
+    }
 
-            double x = cx + relX * cosA - relY * sinA;
-            double y = cy + relX * sinA + relY * cosA;
+    // fills a shape of ShapeCache centered in (cx, cy) and scaled by scale
+    private static void fillShape(Graphics2D g2d, Shape unit, double cx, double cy, double scale) {
+        AffineTransform saved = g2d.getTransform();
+        g2d.translate(cx, cy);
+        g2d.scale(scale, scale);
+        g2d.fill(unit);
+        g2d.setTransform(saved);
+    }
 
-            if (i == 0) path.moveTo(x, y);
-            else path.lineTo(x, y);
+    // draws a shape of ShapeCache centered in (cx, cy) and scaled by scale, with the line width of the current stroke
+    private static void drawShape(Graphics2D g2d, Shape unit, double cx, double cy, double scale) {
+        Stroke stroke = g2d.getStroke();
+        if (!(stroke instanceof BasicStroke) || ((BasicStroke) stroke).getDashArray() != null || scale == 0) {
+            g2d.draw(new AffineTransform(scale, 0, 0, scale, cx, cy).createTransformedShape(unit));
+            return;
         }
-        path.closePath();
-
-        return path;
+        BasicStroke b = (BasicStroke) stroke;
+        AffineTransform saved = g2d.getTransform();
+        g2d.translate(cx, cy);
+        g2d.scale(scale, scale);
+        g2d.setStroke(new BasicStroke((float) (b.getLineWidth() / scale), b.getEndCap(), b.getLineJoin(), b.getMiterLimit()));
+        g2d.draw(unit);
+        g2d.setStroke(stroke);
+        g2d.setTransform(saved);
     }
 
     private static Path2D.Double createTriangle(double ax, double ay, double bx, double by, double cx, double cy) {
@@ -769,101 +769,85 @@ public class Tiles {
         return path;
     }
 
-    private static ArrayList<Point2D> getRegularPolygon(double x, double y, double radius, int sides) {
-        ArrayList<Point2D> points = new ArrayList<>();
-        for (int i = 0; i < sides; i++) {
-            double angle = 2 * Math.PI * i / sides - Math.PI / 4; // Rotated for square orientation
-            points.add(new Point2D.Double(x + radius * Math.cos(angle), y + radius * Math.sin(angle)));
-        }
-        return points;
-    }
-
 //utility methods for Voronoi tiles
-    private static Path2D createPeriodicVoronoiCell(Point2D.Double[] seeds, int index, int size) {
-        List<Point2D.Double> polygon = new ArrayList<>(Arrays.asList(
-            new Point2D.Double(-size, -size),
-            new Point2D.Double(2 * size, -size),
-            new Point2D.Double(2 * size, 2 * size),
-            new Point2D.Double(-size, 2 * size)
-        ));
-
-        Point2D.Double target = seeds[index];
-
-        for (int ox = -1; ox <= 1; ox++) {
-            for (int oy = -1; oy <= 1; oy++) {
-                for (int j = 0; j < seeds.length; j++) {
-                    if (ox == 0 && oy == 0 && j == index) continue;
-
-                    double neighborX = seeds[j].getX() + ox * size;
-                    double neighborY = seeds[j].getY() + oy * size;
-
-                    double mx = (target.x + neighborX) * 0.5;
-                    double my = (target.y + neighborY) * 0.5;
-                    double nx = neighborX - target.x;
-                    double ny = neighborY - target.y;
-
-                    polygon = clipPolygon(polygon, mx, my, nx, ny);
-                }
-            }
+    private static final int VORONOI_CACHE_SIZE = 8;
+    private static final Map<String, VoronoiTile> voronoiCache = new LinkedHashMap<String, VoronoiTile>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, VoronoiTile> eldest) {
+            return size() > VORONOI_CACHE_SIZE;
         }
+    };
 
-        Path2D.Double path = new Path2D.Double();
-        if (!polygon.isEmpty()) {
-            Point2D.Double first = polygon.get(0);
-            path.moveTo(first.x, first.y);
-            for (int i = 1; i < polygon.size(); i++) {
-                Point2D.Double p = polygon.get(i);
-                path.lineTo(p.x, p.y);
-            }
-            path.closePath();
-        }
-        return path;
+    private static class VoronoiTile {
+        PeriodicVoronoi diagram;
+        Path2D[] cells;
+        Color[] colors; // random colors of the cells, for tiles with integer seeds
+        double[] mix; // mix of palette colors of the cells, for tiles with seeds in the unit square
     }
 
-    private static List<Point2D.Double> clipPolygon(List<Point2D.Double> polygon,
-                                            double mx, double my, double nx, double ny) {
-        List<Point2D.Double> result = new ArrayList<>();
-        int size = polygon.size();
+// size 0 means seeds in the unit square, reused at any size; otherwise seeds have integer coordinates in [0, size)
+    private static VoronoiTile getVoronoiTile(int n_seeds, int size) {
+        String key = n_seeds + ":" + size;
+        synchronized (voronoiCache) {
+            VoronoiTile tile = voronoiCache.get(key);
+            if (tile != null) return tile;
+        }
 
+        VoronoiTile tile = new VoronoiTile();
+        double[] xs = new double[n_seeds], ys = new double[n_seeds];
+        Random rand = new Random(0);
         if (size > 0) {
-            Point2D.Double prev = polygon.get(size - 1);
-            boolean prevInside = isInside(prev, mx, my, nx, ny);
-
-            for (int i = 0; i < size; i++) {
-                Point2D.Double curr = polygon.get(i);
-                boolean currInside = isInside(curr, mx, my, nx, ny);
-
-                if (currInside) {
-                    if (!prevInside)
-                        result.add(intersect(prev, curr, mx, my, nx, ny));
-                    result.add(curr);
-                } else if (prevInside)
-                    result.add(intersect(prev, curr, mx, my, nx, ny));
-
-                prev = curr;
-                prevInside = currInside;
+            tile.colors = new Color[n_seeds];
+            for (int i = 0; i < n_seeds; i++) {
+                xs[i] = rand.nextInt(size);
+                ys[i] = rand.nextInt(size);
+                tile.colors[i] = new Color(rand.nextInt(0x1000000));
+            }
+        } else {
+            tile.mix = new double[n_seeds];
+            for (int i = 0; i < n_seeds; i++) {
+                xs[i] = rand.nextDouble();
+                ys[i] = rand.nextDouble();
+                tile.mix[i] = rand.nextDouble();
             }
         }
-        return result;
-    }
+        tile.diagram = new PeriodicVoronoi(xs, ys, size > 0 ? size : 1);
+        tile.cells = new Path2D[n_seeds];
+        for (int i = 0; i < n_seeds; i++)
+            tile.cells[i] = tile.diagram.getCell(i);
 
-    private static boolean isInside(Point2D.Double p, double mx, double my, double nx, double ny) {
-        return (p.x - mx) * nx + (p.y - my) * ny <= 0;
+        synchronized (voronoiCache) {
+            voronoiCache.put(key, tile);
+        }
+        return tile;
+    }
+
+// draws cell i and its periodic copies overlapping the tile
+    private static void drawPeriodicCell(Graphics2D g2d, VoronoiTile tile, int i, int x, int y, int size) {
+        PeriodicVoronoi diagram = tile.diagram;
+        double period = diagram.getPeriod();
+        double scale = size / period;
+        AffineTransform transform = g2d.getTransform();
+        Stroke stroke = g2d.getStroke();
+        g2d.setStroke(new BasicStroke((float) (1 / scale)));
+        for (int oy = -1; oy <= 1; oy++) {
+            if (diagram.getMaxY(i) + oy * period < 0 || diagram.getMinY(i) + oy * period > period) continue;
+            for (int ox = -1; ox <= 1; ox++) {
+                if (diagram.getMaxX(i) + ox * period < 0 || diagram.getMinX(i) + ox * period > period) continue;
+                g2d.translate(x + ox * size, y + oy * size);
+                g2d.scale(scale, scale);
+                g2d.fill(tile.cells[i]);
+                g2d.draw(tile.cells[i]);
+                g2d.setTransform(transform);
+            }
+        }
+        g2d.setStroke(stroke);
     }
 
-    private static Point2D.Double intersect(Point2D.Double p1, Point2D.Double p2,
-                                    double mx, double my, double nx, double ny) {
-        double dx = p2.x - p1.x;
-        double dy = p2.y - p1.y;
-        double denom = dx * nx + dy * ny;
-
-        if (Math.abs(denom) < 1e-10)
-            return new Point2D.Double(p1.x, p1.y);
-
-        double t = ((mx - p1.x) * nx + (my - p1.y) * ny) / denom;
-        t = Math.max(0, Math.min(1, t));
-
-        return new Point2D.Double(p1.x + t * dx, p1.y + t * dy);
+    private static Color mixColors(Color c1, Color c2, double t) {
+        return new Color((int) (c1.getRed() + (c2.getRed() - c1.getRed()) * t),
+            (int) (c1.getGreen() + (c2.getGreen() - c1.getGreen()) * t),
+            (int) (c1.getBlue() + (c2.getBlue() - c1.getBlue()) * t));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,166 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/*
+Class 'TilingExporter' writes a periodic tiling of arbitrary size as PNG image, e.g. for wall prints:
+
+TilingExporter.writePng(out, tile, tileSize, 60000, 40000, progress);
+
+Where tile contains the ARGB pixels of the tile (tileSize x tileSize), transparent pixels are composed over black.
+Scanlines are encoded row by row from the tile, memory is bounded by the tile and by one scanline of the output.
+Progress is reported in percent; the export is cancelled by interrupting the calling thread.
+
+*/
+
+public class TilingExporter {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int IDAT_SIZE = 1 << 16;
+
+    public static void writePng(OutputStream out, int[] tile, int tileSize, int width, int height, IntConsumer progress) throws IOException {
+        if (width <= 0 || height <= 0 || (long) width * 3 + 1 > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("invalid image size " + width + "x" + height);
+        if (tile.length < tileSize * tileSize)
+            throw new IllegalArgumentException("tile buffer too small for tile of size " + tileSize);
+
+        writeHeader(out, width, height);
+
+// RGB rows of the tile, each output scanline is a repetition of one of them
+        byte[][] tileRows = new byte[tileSize][tileSize * 3];
+        for (int row = 0; row < tileSize; row++) {
+            byte[] dst = tileRows[row];
+            for (int col = 0; col < tileSize; col++) {
+                int argb = tile[row * tileSize + col];
+                int a = argb >>> 24;
+                dst[col * 3] = (byte) (((argb >> 16) & 0xFF) * a / 255);
+                dst[col * 3 + 1] = (byte) (((argb >> 8) & 0xFF) * a / 255);
+                dst[col * 3 + 2] = (byte) ((argb & 0xFF) * a / 255);
+            }
+        }
+
+        byte[] scanline = new byte[width * 3 + 1]; // filter type 0 in first byte
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try (DeflaterOutputStream idat = new DeflaterOutputStream(new IdatOutputStream(out), deflater, IDAT_SIZE)) {
+            int percent = -1;
+            for (int y = 0; y < height; y++) {
+                if (Thread.currentThread().isInterrupted())
+                    throw new InterruptedIOException("export cancelled");
+                byte[] src = tileRows[y % tileSize];
+                for (int x = 0; x < width * 3; x += src.length)
+                    System.arraycopy(src, 0, scanline, x + 1, Math.min(src.length, width * 3 - x));
+                idat.write(scanline);
+
+                int p = (int) ((y + 1) * 100L / height);
+                if (p != percent && progress != null) {
+                    percent = p;
+                    progress.accept(p);
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+        writeEnd(out);
+    }
+
+    // signature and header of an 8 bit RGB image
+    static void writeHeader(OutputStream out, int width, int height) throws IOException {
+        out.write(PNG_SIGNATURE);
+        byte[] header = new byte[13];
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = 8; // bit depth
+        header[9] = 2; // color type RGB
+        writeChunk(out, "IHDR", header, header.length);
+    }
+
+    static void writeEnd(OutputStream out) throws IOException {
+        writeChunk(out, "IEND", new byte[0], 0);
+        out.flush();
+    }
+
+    private static void writeChunk(OutputStream out, String type, byte[] data, int length) throws IOException {
+        byte[] buf = new byte[4];
+        putInt(buf, 0, length);
+        out.write(buf);
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        putInt(buf, 0, (int) crc.getValue());
+        out.write(buf);
+    }
+
+    private static void putInt(byte[] buf, int offset, int value) {
+        buf[offset] = (byte) (value >>> 24);
+        buf[offset + 1] = (byte) (value >>> 16);
+        buf[offset + 2] = (byte) (value >>> 8);
+        buf[offset + 3] = (byte) value;
+    }
+
+// splits the compressed stream in IDAT chunks of bounded size
+    static class IdatOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final byte[] buffer = new byte[IDAT_SIZE];
+        private int count;
+
+        IdatOutputStream(OutputStream out) { this.out = out; }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) flushChunk();
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (count == buffer.length) flushChunk();
+                int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n; off += n; len -= n;
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            if (count > 0) writeChunk(out, "IDAT", buffer, count);
+            count = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushChunk(); // the underlying stream stays open for IEND
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package tiles;
+/*
+License Information, 2026 Livio (javalc6)
+
+Feel free to modify, re-use this software, please give appropriate
+credit by referencing this Github repository.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+
+IMPORTANT NOTICE
+Note that this software is freeware and it is not designed, licensed or
+intended for use in mission critical, life support and military purposes.
+The use of this software is at the risk of the user.
+
+DO NOT USE THIS SOFTWARE IF YOU DON'T AGREE WITH STATED CONDITIONS.
+*/
+import java.awt.Color;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+/*
+Class 'WangGenerator' generates a non-periodic Wang tiling of unbounded height row by row, so that grids of millions of
+cells can be rendered with memory bounded by one row:
+
+WangGenerator generator = WangGenerator.complete(2, columns, seed);
+generator.nextRow(row); // indices of the tiles of the next row
+
+Tiles are given as edge colors {right, top, left, bottom}, as in Tiles.drawWangTile. The bottom edges of the last row are
+kept bit-packed in a long[]; the tiles matching each combination of top and left edge are looked up in a table computed
+once, and one of them is chosen with a hash of seed, row and column, so the tiling depends only on the seed.
+Every combination of top and left edge must have a matching tile, e.g. the complete set of colors^4 tiles.
+Method painter returns a BandRenderer.Painter drawing the tiling: rows are generated in order as bands request them and
+kept until every band above their bottom edge has been painted, so that concurrent bands, in any order and even shorter
+than a cell, share the rows they overlap. The painter expects bands that cover the canvas from y = 0, as BandRenderer.
+
+*/
+
+public class WangGenerator {
+    private final int[][] tiles;
+    private final int[][][] valid; // valid[top][left] = indices of the matching tiles
+    private final int bits; // bits per edge
+    private final int columns;
+    private final long seed;
+    private final long[] edges; // bottom edges of the last row
+    private long nextRow;
+    private final List<int[]> window = new ArrayList<>(); // tile indices of rows windowStart .. nextRow - 1, for the painter
+    private long windowStart;
+    private final TreeMap<Integer, Integer> painted = new TreeMap<>(); // y -> end of the bands painted below paintedY
+    private int paintedY; // the canvas is painted from 0 to paintedY
+
+    public WangGenerator(int[][] tiles, int colors, int columns, long seed) {
+        this.tiles = tiles;
+        this.columns = columns;
+        this.seed = seed;
+        bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(colors - 1));
+        valid = new int[colors][colors][];
+        for (int top = 0; top < colors; top++)
+            for (int left = 0; left < colors; left++) {
+                int count = 0;
+                int[] matching = new int[tiles.length];
+                for (int i = 0; i < tiles.length; i++)
+                    if (tiles[i][1] == top && tiles[i][2] == left) matching[count++] = i;
+                if (count == 0)
+                    throw new IllegalArgumentException("no tile with top edge " + top + " and left edge " + left);
+                valid[top][left] = Arrays.copyOf(matching, count);
+            }
+        edges = new long[(int) (((long) columns * bits + 63) / 64)];
+        for (int col = 0; col < columns; col++) // top edges of the first row
+            setEdge(col, (int) (hash(-1, col) >>> 33) % colors);
+    }
+
+    // complete set of colors^4 tiles, in the order of Tiles.drawWangTile
+    public static WangGenerator complete(int colors, int columns, long seed) {
+        int[][] tiles = new int[colors * colors * colors * colors][];
+        int i = 0;
+        for (int right = 0; right < colors; right++)
+            for (int top = 0; top < colors; top++)
+                for (int left = 0; left < colors; left++)
+                    for (int bottom = 0; bottom < colors; bottom++)
+                        tiles[i++] = new int[]{right, top, left, bottom};
+        return new WangGenerator(tiles, colors, columns, seed);
+    }
+
+    public int[] getTile(int index) { return tiles[index]; }
+    public int getColumns() { return columns; }
+    public long getNextRow() { return nextRow; }
+
+    public void nextRow(int[] row) {
+        int colors = valid.length;
+        int left = (int) (hash(nextRow, -1) >>> 33) % colors;
+        for (int col = 0; col < columns; col++) {
+            int[] candidates = valid[getEdge(col)][left];
+            int index = candidates[(int) ((hash(nextRow, col) >>> 33) % candidates.length)];
+            row[col] = index;
+            setEdge(col, tiles[index][3]);
+            left = tiles[index][0];
+        }
+        nextRow++;
+    }
+
+    public BandRenderer.Painter painter(Color[] colors, double cellSize) {
+        return g2d -> {
+            Rectangle clip = g2d.getClipBounds();
+            long first = (long) Math.floor(clip.y / cellSize);
+            long last = (long) Math.ceil((clip.y + clip.height) / cellSize) - 1;
+            int[][] rows = takeRows(first, last);
+            for (int k = 0; k < rows.length; k++)
+                Tiles.drawWangRow(g2d, colors, tiles, rows[k], 0, (first + k) * cellSize, cellSize);
+            release(clip.y, clip.y + clip.height, cellSize);
+        };
+    }
+
+    // rows first .. last, generating the missing ones; rows are shared with the other bands until release
+    private synchronized int[][] takeRows(long first, long last) {
+        if (first < windowStart)
+            throw new IllegalStateException("row " + first + " already released");
+        while (nextRow <= last) {
+            int[] row = new int[columns];
+            nextRow(row);
+            window.add(row);
+        }
+        int[][] rows = new int[(int) (last - first + 1)][];
+        for (int k = 0; k < rows.length; k++)
+            rows[k] = window.get((int) (first - windowStart) + k);
+        return rows;
+    }
+
+    // records that the canvas from y0 to y1 has been painted and drops the rows above the painted part
+    private synchronized void release(int y0, int y1, double cellSize) {
+        painted.put(y0, y1);
+        Integer end;
+        while ((end = painted.remove(paintedY)) != null)
+            paintedY = end;
+        long done = Math.min(nextRow, (long) Math.floor(paintedY / cellSize)); // rows ending above paintedY
+        if (done > windowStart) {
+            window.subList(0, (int) (done - windowStart)).clear();
+            windowStart = done;
+        }
+    }
+
+    private int getEdge(int col) {
+        long bit = (long) col * bits;
+        int word = (int) (bit >>> 6), shift = (int) (bit & 63);
+        long value = edges[word] >>> shift;
+        if (shift + bits > 64) value |= edges[word + 1] << (64 - shift);
+        return (int) (value & ((1L << bits) - 1));
+    }
+
+    private void setEdge(int col, int value) {
+        long bit = (long) col * bits, mask = (1L << bits) - 1;
+        int word = (int) (bit >>> 6), shift = (int) (bit & 63);
+        edges[word] = edges[word] & ~(mask << shift) | (long) value << shift;
+        if (shift + bits > 64) {
+            int high = 64 - shift;
+            edges[word + 1] = edges[word + 1] & ~(mask >>> high) | (long) value >>> high;
+        }
+    }
+
+    private long hash(long row, long col) {
+        return Tiles.cellHash(seed, col, row);
+    }
+}
@@ -0,0 +1,92 @@
+package tools;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.Arrays;
+import java.util.List;
+
+public class BoundaryMask {
+	final int size;
+	final BufferedImage mask; // 1 bit per pixel: 0 = boundary, 1 = free
+	final byte[] bits;
+	final int stride;
+	final long[] visited;
+	int[] stack = new int[256];
+	int[] spans = new int[256];
+
+	public BoundaryMask(int size) {
+		this.size = size;
+		mask = new BufferedImage(size, size, BufferedImage.TYPE_BYTE_BINARY);
+		bits = ((DataBufferByte) mask.getRaster().getDataBuffer()).getData();
+		stride = (size + 7) / 8;
+		visited = new long[(size * size + 63) / 64];
+		Arrays.fill(bits, (byte) 0xFF);
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public void add(DrawingAction action) {
+		if (action instanceof LineAction || action instanceof ArcAction) {
+			Graphics2D g = mask.createGraphics(); // no antialiasing, as boundaries must be crisp
+			action.draw(g, size, size);
+			g.dispose();
+		}
+	}
+
+	public void rebuild(List<DrawingAction> actions) {
+		Arrays.fill(bits, (byte) 0xFF);
+		for (DrawingAction action : actions)
+			add(action);
+	}
+
+	public boolean isBoundary(int x, int y) {
+		return (bits[y * stride + (x >> 3)] & (0x80 >> (x & 7))) == 0;
+	}
+
+	// scanline fill of the area around (x, y) delimited by boundaries, returns the filled spans as triples (y, x0, x1) with x1 inclusive
+	public int[] floodFill(int x, int y) {
+		if (x < 0 || x >= size || y < 0 || y >= size || isBoundary(x, y)) return new int[0];
+
+		Arrays.fill(visited, 0L);
+		int n = 0;
+		int sp = 0;
+		stack[sp++] = y * size + x;
+		while (sp > 0) {
+			int idx = stack[--sp];
+			int sy = idx / size;
+			int sx = idx - sy * size;
+			if (!isFree(sx, sy)) continue;
+
+			int lx = sx;
+			while (lx > 0 && isFree(lx - 1, sy)) lx--;
+			int rx = sx;
+			while (rx < size - 1 && isFree(rx + 1, sy)) rx++;
+			for (int i = sy * size + lx; i <= sy * size + rx; i++)
+				visited[i >> 6] |= 1L << i;
+			if (n + 3 > spans.length) spans = Arrays.copyOf(spans, spans.length * 2);
+			spans[n++] = sy; spans[n++] = lx; spans[n++] = rx;
+
+			for (int ny = sy - 1; ny <= sy + 1; ny += 2) {
+				if (ny < 0 || ny >= size) continue;
+				boolean inRun = false;
+				for (int nx = lx; nx <= rx; nx++) {
+					boolean free = isFree(nx, ny);
+					if (free && !inRun) {
+						if (sp == stack.length) stack = Arrays.copyOf(stack, sp * 2);
+						stack[sp++] = ny * size + nx;
+					}
+					inRun = free;
+				}
+			}
+		}
+		return Arrays.copyOf(spans, n);
+	}
+
+	private boolean isFree(int x, int y) {
+		int i = y * size + x;
+		return (visited[i >> 6] & (1L << i)) == 0 && !isBoundary(x, y);
+	}
+}
@@ -1,41 +1,50 @@
 package tools;
 
+import java.awt.Color;
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.util.Arrays;
 
 public class FillAction implements DrawingAction {
-    final static boolean compressImage = false;//enable image compression to reduce memory usage but increase CPU usage
+    final Color col;
+    final int[] spans; // filled area as triples (y, x0, x1) in tile coordinates, x1 inclusive
 
-    BufferedImage fillImage;
-    byte[] compressedImage;
-
-    public FillAction(BufferedImage img) {
-        if (compressImage) {
-            try {
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                ImageIO.write(img, "png", baos);
-                compressedImage = baos.toByteArray();
-            } catch (IOException ioex) {
-            }
-        } else {
-            this.fillImage = img;
-        }
+    public FillAction(Color col, int[] spans) {
+        this.col = col;
+        this.spans = spans;
     }
 
     public void draw(Graphics2D g, int size, int tileSize) {
-        if (compressImage) {
-            try {
-                ByteArrayInputStream bais = new ByteArrayInputStream(compressedImage);
-                fillImage = ImageIO.read(bais);
-            } catch (IOException ioex) {
-                return;
-            }
+        Object antialiasing = g.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        AffineTransform transform = g.getTransform();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF); // adjacent spans must not leave seams
+        if (size != tileSize)
+            g.scale((double) size / tileSize, (double) size / tileSize);
+        g.setColor(col);
+        for (int i = 0; i < spans.length; i += 3)
+            g.fillRect(spans[i + 1], spans[i], spans[i + 2] - spans[i + 1] + 1, 1);
+        g.setTransform(transform);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+    }
+
+    // fills the spans directly in an opaque ARGB raster of the tile
+    public void fill(int[] pixels, int offset, int scanline) {
+        int rgb = col.getRGB();
+        int a = rgb >>> 24;
+        for (int i = 0; i < spans.length; i += 3) {
+            int row = offset + spans[i] * scanline;
+            if (a == 0xFF)
+                Arrays.fill(pixels, row + spans[i + 1], row + spans[i + 2] + 1, rgb);
+            else for (int p = row + spans[i + 1]; p <= row + spans[i + 2]; p++)
+                pixels[p] = blend(pixels[p], rgb, a);
         }
-        g.drawImage(fillImage, 0, 0, size, size, null);
     }
-}
 
+    private static int blend(int dst, int src, int a) {
+        int r = (((src >> 16) & 0xFF) * a + ((dst >> 16) & 0xFF) * (255 - a)) / 255;
+        int g = (((src >> 8) & 0xFF) * a + ((dst >> 8) & 0xFF) * (255 - a)) / 255;
+        int b = ((src & 0xFF) * a + (dst & 0xFF) * (255 - a)) / 255;
+        return 0xFF000000 | (r << 16) | (g << 8) | b;
+    }
+}
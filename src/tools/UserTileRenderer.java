@@ -0,0 +1,111 @@
+package tools;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental renderer of the user tile: new actions are drawn on top of the composed tile,
+ * undo restores the nearest checkpoint and replays only the actions after it.
+ * At most MAX_CHECKPOINTS checkpoints are kept: when they are exceeded every other checkpoint is dropped
+ * and the interval between checkpoints is doubled, so memory stays bounded on long drawing sessions.
+ */
+public class UserTileRenderer {
+    static final int CHECKPOINT_INTERVAL = 32;
+    static final int MAX_CHECKPOINTS = 16; // must be even, see addCheckpoint
+
+    final int size;
+    final BufferedImage image;
+    final int[] pixels;
+    final List<int[]> checkpoints = new ArrayList<>(); // checkpoint k holds the tile after k * interval actions
+    int interval = CHECKPOINT_INTERVAL;
+    int applied; // number of actions composed in image
+    Color background, grid;
+
+    public UserTileRenderer(int size) {
+        this.size = size;
+        image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    // to be called when the actions from index onwards have been removed or modified
+    public void invalidateFrom(int index) {
+        if (index < applied) {
+            int k = index / interval;
+            while (checkpoints.size() > k + 1)
+                checkpoints.remove(checkpoints.size() - 1);
+            if (k < checkpoints.size()) {
+                System.arraycopy(checkpoints.get(k), 0, pixels, 0, pixels.length);
+                applied = k * interval;
+                if (k == 0)
+                    interval = CHECKPOINT_INTERVAL; // back to dense checkpoints, only the first one is left
+            } else {
+                checkpoints.clear();
+                applied = -1;
+            }
+        }
+    }
+
+    // returns the composed tile, the image is owned by the renderer and changes on next invocation
+    public BufferedImage render(List<DrawingAction> actions, Color background, Color grid) {
+        if (!background.equals(this.background) || !grid.equals(this.grid)) {
+            this.background = background;
+            this.grid = grid;
+            checkpoints.clear();
+            applied = -1;
+        }
+        if (applied > actions.size())
+            invalidateFrom(actions.size());
+
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        if (applied < 0) {
+            drawBackground(g2d, 0, 0, size, background, grid);
+            checkpoints.clear();
+            interval = CHECKPOINT_INTERVAL;
+            checkpoints.add(pixels.clone());
+            applied = 0;
+        }
+        while (applied < actions.size()) {
+            DrawingAction action = actions.get(applied++);
+            if (action instanceof FillAction)
+                ((FillAction) action).fill(pixels, 0, size);
+            else action.draw(g2d, size, size);
+            if (applied % interval == 0)
+                addCheckpoint();
+        }
+        g2d.dispose();
+        return image;
+    }
+
+    private void addCheckpoint() {
+        checkpoints.add(pixels.clone());
+        if (checkpoints.size() > MAX_CHECKPOINTS) {
+// the last checkpoint has index MAX_CHECKPOINTS, even, so it is kept as a multiple of the doubled interval
+            for (int k = checkpoints.size() - 1; k > 0; k--)
+                if (k % 2 == 1)
+                    checkpoints.remove(k);
+            interval *= 2;
+        }
+    }
+
+    public static void drawBackground(Graphics2D g2d, int x, int y, int size, Color background, Color grid) {
+        g2d.setColor(background);
+        g2d.fillRect(x, y, size, size);
+
+        g2d.setColor(grid);
+        g2d.setStroke(new BasicStroke(1f));
+        g2d.drawLine(x, y, x, y + size);
+        g2d.drawLine(x, y, x + size, y);
+    }
+}